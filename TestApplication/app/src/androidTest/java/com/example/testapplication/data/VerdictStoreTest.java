@@ -0,0 +1,70 @@
+package com.example.testapplication.data;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.testapplication.models.SmsMessage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs against the app's verdict database. Test rows use negative ids and dates near
+ * the epoch, below the sync high-water marks, and are removed afterwards.
+ */
+@RunWith(AndroidJUnit4.class)
+public class VerdictStoreTest {
+
+    private static final long SPAM_ID = -1001;
+    private static final long CLEAN_ID = -1002;
+
+    private VerdictStore store;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        store = VerdictStore.getInstance(context);
+
+        SmsMessage spam = new SmsMessage(SPAM_ID, 1, "2222", "bonus kazan", 2, 1);
+        spam.isSpam = true;
+        spam.spamScore = 0.9f;
+        SmsMessage clean = new SmsMessage(CLEAN_ID, 1, "05321234567", "merhaba", 1, 1);
+        store.store(Arrays.asList(spam, clean), 1);
+    }
+
+    @After
+    public void tearDown() {
+        store.removeAll(new long[]{SPAM_ID, CLEAN_ID});
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        for (long candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void spamIdsHoldOnlySpam() {
+        long[] ids = store.getIdsByType(true, 0);
+        assertTrue(contains(ids, SPAM_ID));
+        assertFalse(contains(ids, CLEAN_ID));
+    }
+
+    @Test
+    public void normalIdsHoldOnlyCleanMessages() {
+        long[] ids = store.getIdsByType(false, 0);
+        assertTrue(contains(ids, CLEAN_ID));
+        assertFalse(contains(ids, SPAM_ID));
+    }
+}
@@ -58,6 +58,11 @@ public class MainActivity extends AppCompatActivity {
         setupAutoRefresh();
         setupBulkDelete();
         checkPermissions();
+        
+        // Once per launch, not again on configuration changes
+        if (savedInstanceState == null) {
+            checkPendingBulkDelete();
+        }
     }
 
     private void setupAutoRefresh() {
@@ -109,7 +114,7 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        smsAdapter = new SmsListAdapter();
+        smsAdapter = new SmsListAdapter(this);
         binding.smsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         binding.smsRecyclerView.setAdapter(smsAdapter);
         
@@ -272,32 +277,7 @@ public class MainActivity extends AppCompatActivity {
         
         bulkDeleteDialog.showProgressDialog();
         
-        SmsRepository.BulkOperationCallback callback = new SmsRepository.BulkOperationCallback() {
-            @Override
-            public void onProgress(int current, int total) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.updateProgress(current, total);
-                });
-            }
-            
-            @Override
-            public void onCompleted(int deletedCount) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.hideDialog();
-                    showToast(getString(R.string.delete_completed, deletedCount));
-                    refreshData(); // Refresh the message list
-                });
-            }
-            
-            @Override
-            public void onError(String error) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.hideDialog();
-                    showToast("Hata: " + error);
-                });
-            }
-        };
-        
+        SmsRepository.BulkOperationCallback callback = bulkDeleteCallback();
         switch (type) {
             case "all":
                 smsRepository.deleteAllMessages(callback);
@@ -319,31 +299,7 @@ public class MainActivity extends AppCompatActivity {
         
         bulkDeleteDialog.showProgressDialog();
         
-        smsRepository.deleteMessagesBySender(phoneNumber, new SmsRepository.BulkOperationCallback() {
-            @Override
-            public void onProgress(int current, int total) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.updateProgress(current, total);
-                });
-            }
-            
-            @Override
-            public void onCompleted(int deletedCount) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.hideDialog();
-                    showToast(getString(R.string.delete_completed, deletedCount));
-                    refreshData();
-                });
-            }
-            
-            @Override
-            public void onError(String error) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.hideDialog();
-                    showToast("Hata: " + error);
-                });
-            }
-        });
+        smsRepository.deleteMessagesBySender(phoneNumber, bulkDeleteCallback());
     }
     
     private void performBulkDeleteByDateRange(long startDate, long endDate) {
@@ -354,31 +310,7 @@ public class MainActivity extends AppCompatActivity {
         
         bulkDeleteDialog.showProgressDialog();
         
-        smsRepository.deleteMessagesByDateRange(startDate, endDate, new SmsRepository.BulkOperationCallback() {
-            @Override
-            public void onProgress(int current, int total) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.updateProgress(current, total);
-                });
-            }
-            
-            @Override
-            public void onCompleted(int deletedCount) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.hideDialog();
-                    showToast(getString(R.string.delete_completed, deletedCount));
-                    refreshData();
-                });
-            }
-            
-            @Override
-            public void onError(String error) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.hideDialog();
-                    showToast("Hata: " + error);
-                });
-            }
-        });
+        smsRepository.deleteMessagesByDateRange(startDate, endDate, bulkDeleteCallback());
     }
     
     private void performBulkDeleteByDateRangeAndType(long startDate, long endDate, boolean isSpam) {
@@ -389,12 +321,23 @@ public class MainActivity extends AppCompatActivity {
         
         bulkDeleteDialog.showProgressDialog();
         
-        smsRepository.deleteMessagesByDateRangeAndType(startDate, endDate, isSpam, new SmsRepository.BulkOperationCallback() {
+        smsRepository.deleteMessagesByDateRangeAndType(startDate, endDate, isSpam, bulkDeleteCallback());
+    }
+
+    /**
+     * Progress, completion and error handling shared by every bulk delete
+     */
+    private SmsRepository.BulkOperationCallback bulkDeleteCallback() {
+        return new SmsRepository.BulkOperationCallback() {
             @Override
             public void onProgress(int current, int total) {
-                runOnUiThread(() -> {
-                    bulkDeleteDialog.updateProgress(current, total);
-                });
+                bulkDeleteDialog.updateProgress(current, total);
+            }
+            
+            @Override
+            public void onProgress(int current, int total, double messagesPerSecond, long etaMillis) {
+                // Already throttled and delivered on the main thread
+                bulkDeleteDialog.updateProgress(current, total, etaMillis);
             }
             
             @Override
@@ -402,7 +345,7 @@ public class MainActivity extends AppCompatActivity {
                 runOnUiThread(() -> {
                     bulkDeleteDialog.hideDialog();
                     showToast(getString(R.string.delete_completed, deletedCount));
-                    refreshData();
+                    refreshData(); // Refresh the message list
                 });
             }
             
@@ -413,7 +356,40 @@ public class MainActivity extends AppCompatActivity {
                     showToast("Hata: " + error);
                 });
             }
-        });
+        };
+    }
+    
+    /**
+     * A bulk delete that was stopped or cut off by the process dying keeps its
+     * checkpoint; offer to continue it or to drop it
+     */
+    private void checkPendingBulkDelete() {
+        int remaining = smsRepository.getPendingBulkDeleteCount();
+        if (remaining <= 0) {
+            return;
+        }
+        
+        new AlertDialog.Builder(this)
+                .setTitle("Yarım Kalan Toplu Silme")
+                .setMessage("Önceki toplu silme işlemi tamamlanmadı. Silinecek " + remaining +
+                           " mesaj kaldı.\n\nKaldığı yerden devam etmek istiyor musunuz?")
+                .setPositiveButton("Devam Et", (dialog, which) -> resumeBulkDelete())
+                .setNegativeButton("Vazgeç", (dialog, which) -> {
+                    smsRepository.discardPendingBulkDelete();
+                    showToast("Yarım kalan silme işlemi iptal edildi");
+                })
+                .setCancelable(false)
+                .show();
+    }
+    
+    private void resumeBulkDelete() {
+        if (!PermissionHelper.hasSmsPermissions(this)) {
+            showToast("SMS izinleri gerekli");
+            return;
+        }
+        
+        bulkDeleteDialog.showProgressDialog();
+        smsRepository.resumeBulkDelete(bulkDeleteCallback());
     }
 
     private void refreshData() {
@@ -446,11 +422,11 @@ public class MainActivity extends AppCompatActivity {
             }
         });
 
-        // Observe filtered SMS messages for RecyclerView
-        smsViewModel.getFilteredMessages().observe(this, messages -> {
+        // Observe the paged message rows for RecyclerView
+        smsViewModel.getPagedMessages().observe(this, messages -> {
             if (messages != null) {
-                smsAdapter.submitList(messages);
-                updateEmptyState(messages.isEmpty());
+                smsAdapter.submitRows(messages.columns, messages.rows);
+                updateEmptyState(messages.rows.length == 0);
             }
         });
 
@@ -715,7 +691,7 @@ public class MainActivity extends AppCompatActivity {
         
         if (message.isSpam) {
             details += "Spam Score: " + String.format("%.0f%%", message.spamScore * 100) + "\n" +
-                      "Spam Reason: " + message.spamReason + "\n";
+                      "Spam Reason: " + message.getSpamReason() + "\n";
         }
         
         details += "\nMessage:\n" + message.body;
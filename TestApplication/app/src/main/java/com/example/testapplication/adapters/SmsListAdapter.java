@@ -1,5 +1,6 @@
 package com.example.testapplication.adapters;
 
+import android.content.Context;
 import android.graphics.Color;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -9,21 +10,27 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.testapplication.R;
+import com.example.testapplication.data.MessageColumns;
+import com.example.testapplication.data.PagedMessageSource;
 import com.example.testapplication.databinding.ItemSmsMessageBinding;
+import com.example.testapplication.models.SmsDisplayModel;
 import com.example.testapplication.models.SmsMessage;
-import com.example.testapplication.utils.SpamDetector;
+import com.example.testapplication.utils.ContactResolver;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.chip.Chip;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+/**
+ * Main message list. Items come from a PagedMessageSource, so the list covers every
+ * row of the snapshot while only a window of pages is held in memory; rows whose page
+ * is still loading are bound as placeholders and rebound when it arrives.
+ */
+public class SmsListAdapter extends RecyclerView.Adapter<SmsListAdapter.SmsViewHolder> {
 
-public class SmsListAdapter extends ListAdapter<SmsMessage, SmsListAdapter.SmsViewHolder> {
+    // Larger row count changes are redrawn instead of diffed on the main thread
+    private static final int MAX_DIFF_CHANGE = 100;
 
     public interface OnSmsActionListener {
         void onDeleteMessage(SmsMessage message);
@@ -31,9 +38,51 @@ public class SmsListAdapter extends ListAdapter<SmsMessage, SmsListAdapter.SmsVi
     }
 
     private OnSmsActionListener actionListener;
+    private final PagedMessageSource source;
+    private final ContactResolver contactResolver;
+    private final ContactResolver.Listener contactListener;
 
-    public SmsListAdapter() {
-        super(new SmsMessageDiffCallback());
+    public SmsListAdapter(Context context) {
+        source = new PagedMessageSource(context);
+        source.setListener(this::notifyItemRangeChanged);
+        contactResolver = ContactResolver.getInstance(context);
+        contactListener = source::refreshContactNames;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        // Rows showing a number are rebound when its contact name arrives
+        contactResolver.addListener(contactListener);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        contactResolver.removeListener(contactListener);
+    }
+
+    /**
+     * Show the given rows of a snapshot. A refresh of the same list is diffed by id so
+     * new messages animate in; a filter switch or a large change redraws the list.
+     */
+    public void submitRows(MessageColumns columns, int[] rows) {
+        MessageColumns oldColumns = source.getColumns();
+        int[] oldRows = source.getRows();
+        boolean diff = columns != oldColumns && oldRows.length > 0
+                && Math.abs(rows.length - oldRows.length) <= MAX_DIFF_CHANGE;
+
+        if (!diff) {
+            source.submit(columns, rows);
+            notifyDataSetChanged();
+            return;
+        }
+
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(
+            new RowDiffCallback(oldColumns, oldRows, columns, rows), false);
+        source.submit(columns, rows);
+        result.dispatchUpdatesTo(this);
     }
 
     public void setOnSmsActionListener(OnSmsActionListener listener) {
@@ -50,8 +99,22 @@ public class SmsListAdapter extends ListAdapter<SmsMessage, SmsListAdapter.SmsVi
 
     @Override
     public void onBindViewHolder(@NonNull SmsViewHolder holder, int position) {
-        SmsMessage message = getItem(position);
-        holder.bind(message);
+        SmsDisplayModel model = source.get(position);
+        if (model != null) {
+            holder.bind(model);
+        } else {
+            holder.bindPlaceholder();
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return source.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return source.getId(position);
     }
 
     class SmsViewHolder extends RecyclerView.ViewHolder {
@@ -62,36 +125,44 @@ public class SmsListAdapter extends ListAdapter<SmsMessage, SmsListAdapter.SmsVi
             this.binding = binding;
         }
 
-        public void bind(SmsMessage message) {
-            String contactName = com.example.testapplication.utils.ContactsHelper.getContactName(
-                itemView.getContext(), 
-                message.address
-            );
-            
-            binding.senderText.setText(contactName);
-            
-            if (!contactName.equals(message.address)) {
-                binding.messageIdText.setText(message.address + " • ID: " + message.id);
-            } else {
-                binding.messageIdText.setText("ID: " + message.id);
-            }
-            
-            binding.messageBodyText.setText(message.body != null ? message.body : "");
-            binding.dateText.setText(formatDate(message.date));
+        /**
+         * Row whose page is not loaded yet
+         */
+        public void bindPlaceholder() {
+            binding.senderText.setText("…");
+            binding.messageIdText.setText("");
+            binding.messageBodyText.setText("");
+            binding.dateText.setText("");
+            binding.typeText.setText("");
+            setupCleanMessage();
+            binding.expandButton.setVisibility(View.GONE);
+            binding.contextAnalysisLayout.setVisibility(View.GONE);
+            binding.deleteButton.setOnClickListener(null);
+            binding.messageCard.setOnClickListener(null);
+            binding.messageCard.setOnLongClickListener(null);
+        }
+
+        /**
+         * Assign the precomputed row model; nothing is queried or analyzed here
+         */
+        public void bind(SmsDisplayModel model) {
+            SmsMessage message = model.message;
 
-            // Set message type
-            String typeText = getMessageTypeText(message.type);
-            binding.typeText.setText(typeText);
+            binding.senderText.setText(model.senderText);
+            binding.messageIdText.setText(model.messageIdText);
+            binding.messageBodyText.setText(model.bodyText);
+            binding.dateText.setText(model.dateText);
+            binding.typeText.setText(model.typeText);
 
             // Handle spam detection and highlighting
             if (message.isSpam) {
-                setupSpamMessage(message);
+                setupSpamMessage(model);
             } else {
                 setupCleanMessage();
             }
             
             // Setup context analysis (for all messages)
-            setupContextAnalysis(message);
+            setupContextAnalysis(model);
 
             // Set click listeners
             binding.deleteButton.setOnClickListener(v -> {
@@ -108,7 +179,7 @@ public class SmsListAdapter extends ListAdapter<SmsMessage, SmsListAdapter.SmsVi
             
             // Setup expand/collapse functionality
             binding.expandButton.setOnClickListener(v -> {
-                toggleContextAnalysis();
+                toggleContextAnalysis(model);
             });
 
             // Set long click for additional actions
@@ -118,14 +189,13 @@ public class SmsListAdapter extends ListAdapter<SmsMessage, SmsListAdapter.SmsVi
             });
         }
 
-        private void setupSpamMessage(SmsMessage message) {
+        private void setupSpamMessage(SmsDisplayModel model) {
             // Show spam chip
             binding.spamChip.setVisibility(View.VISIBLE);
             
             // Show spam score
             binding.spamScoreText.setVisibility(View.VISIBLE);
-            binding.spamScoreText.setText(String.format(Locale.getDefault(), 
-                "Spam Score: %.0f%%", message.spamScore * 100));
+            binding.spamScoreText.setText(model.spamScoreText);
 
             // Apply Turkish spam highlighting - red background
             binding.messageCard.setCardBackgroundColor(
@@ -161,55 +231,24 @@ public class SmsListAdapter extends ListAdapter<SmsMessage, SmsListAdapter.SmsVi
         /**
          * Setup context analysis display for message
          */
-        private void setupContextAnalysis(SmsMessage message) {
-            // Analyze message with context
-            SpamDetector.SpamAnalysisResult result = SpamDetector.analyzeMessage(
-                message.body, message.address, itemView.getContext());
-            
-            // Show expand button for messages with context data
-            if (result.contextAnalysis != null && result.contextAnalysis.messageLength > 0) {
+        private void setupContextAnalysis(SmsDisplayModel model) {
+            // Only blank messages have nothing to show
+            if (model.contextDetails != null) {
                 binding.expandButton.setVisibility(View.VISIBLE);
-                
-                // Build context details text
-                String contextDetails = buildContextDetailsText(result.contextAnalysis);
-                binding.contextDetailsText.setText(contextDetails);
+                binding.contextDetailsText.setText(model.contextDetails);
             } else {
                 binding.expandButton.setVisibility(View.GONE);
                 binding.contextAnalysisLayout.setVisibility(View.GONE);
             }
         }
         
-        /**
-         * Build context analysis details text
-         */
-        private String buildContextDetailsText(SpamDetector.ContextAnalysis context) {
-            StringBuilder details = new StringBuilder();
-            
-            // Message length info
-            details.append("• Mesaj uzunluğu: ").append(context.messageLength)
-                   .append(" karakter (").append(context.lengthCategory).append(")\n");
-            
-            // Keyword count and density
-            details.append("• Anahtar kelime sayısı: ").append(context.keywordCount).append("\n");
-            details.append("• Kelime yoğunluğu: %").append(String.format(Locale.getDefault(), "%.1f", context.keywordDensity)).append("\n");
-            
-            // Context multiplier
-            details.append("• Bağlam çarpanı: ").append(String.format(Locale.getDefault(), "%.1fx", context.contextMultiplier));
-            
-            // Context description
-            if (!context.contextDescription.isEmpty()) {
-                details.append("\n• ").append(context.contextDescription);
-            }
-            
-            return details.toString();
-        }
-        
         /**
          * Toggle context analysis visibility
          */
-        private void toggleContextAnalysis() {
+        private void toggleContextAnalysis(SmsDisplayModel model) {
             if (binding.contextAnalysisLayout.getVisibility() == View.GONE) {
                 // Expand
+                binding.contextDetailsText.setText(model.contextDetails);
                 binding.contextAnalysisLayout.setVisibility(View.VISIBLE);
                 binding.expandButton.setText("Detayları Gizle");
                 binding.expandButton.setIconResource(android.R.drawable.arrow_up_float);
@@ -220,53 +259,45 @@ public class SmsListAdapter extends ListAdapter<SmsMessage, SmsListAdapter.SmsVi
                 binding.expandButton.setIconResource(android.R.drawable.arrow_down_float);
             }
         }
+    }
 
-        private String formatDate(long timestamp) {
-            try {
-                Date date = new Date(timestamp);
-                SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HH:mm", 
-                    new Locale("tr", "TR"));
-                return formatter.format(date);
-            } catch (Exception e) {
-                return "Unknown date";
-            }
+    private static class RowDiffCallback extends DiffUtil.Callback {
+        private final MessageColumns oldColumns;
+        private final int[] oldRows;
+        private final MessageColumns newColumns;
+        private final int[] newRows;
+
+        RowDiffCallback(MessageColumns oldColumns, int[] oldRows, MessageColumns newColumns, int[] newRows) {
+            this.oldColumns = oldColumns;
+            this.oldRows = oldRows;
+            this.newColumns = newColumns;
+            this.newRows = newRows;
         }
 
-        private String getMessageTypeText(int type) {
-            switch (type) {
-                case 1:
-                    return "INBOX";
-                case 2:
-                    return "SENT";
-                case 3:
-                    return "DRAFT";
-                case 4:
-                    return "OUTBOX";
-                case 5:
-                    return "FAILED";
-                case 6:
-                    return "QUEUED";
-                default:
-                    return "UNKNOWN";
-            }
+        @Override
+        public int getOldListSize() {
+            return oldRows.length;
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newRows.length;
         }
-    }
 
-    private static class SmsMessageDiffCallback extends DiffUtil.ItemCallback<SmsMessage> {
         @Override
-        public boolean areItemsTheSame(@NonNull SmsMessage oldItem, @NonNull SmsMessage newItem) {
-            return oldItem.id == newItem.id;
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            return oldColumns.id(oldRows[oldPosition]) == newColumns.id(newRows[newPosition]);
         }
 
         @Override
-        public boolean areContentsTheSame(@NonNull SmsMessage oldItem, @NonNull SmsMessage newItem) {
-            return oldItem.id == newItem.id &&
-                   oldItem.isSpam == newItem.isSpam &&
-                   oldItem.spamScore == newItem.spamScore &&
-                   java.util.Objects.equals(oldItem.body, newItem.body) &&
-                   java.util.Objects.equals(oldItem.address, newItem.address) &&
-                   oldItem.date == newItem.date &&
-                   oldItem.type == newItem.type;
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            int oldRow = oldRows[oldPosition];
+            int newRow = newRows[newPosition];
+            return oldColumns.isSpam(oldRow) == newColumns.isSpam(newRow) &&
+                   oldColumns.score(oldRow) == newColumns.score(newRow) &&
+                   oldColumns.date(oldRow) == newColumns.date(newRow) &&
+                   oldColumns.type(oldRow) == newColumns.type(newRow) &&
+                   oldColumns.addressId(oldRow) == newColumns.addressId(newRow);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.testapplication.data;
+
+import com.example.testapplication.utils.AddressNormalizer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only dictionary of sender addresses. Addresses are normalized first, so
+ * every spelling of one sender (+90..., 0..., bare national number) gets the same
+ * small int id; columns, sender statistics and the contact cache key on that id.
+ * get() returns the canonical form. The raw spellings each id was interned under are
+ * kept as well, since provider address columns can only be matched by exact text.
+ */
+public final class AddressPool {
+
+    private static final AddressPool SHARED = new AddressPool();
+
+    private final AddressNormalizer normalizer;
+    private final Map<String, Integer> idsByAddress = new HashMap<>();
+    private String[] addresses = new String[64];
+    // Raw spellings per id, in the order first seen; almost always one or two
+    private String[][] spellings = new String[64][];
+    private int size;
+
+    public AddressPool() {
+        this(AddressNormalizer.getDefault());
+    }
+
+    public AddressPool(AddressNormalizer normalizer) {
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * Process-wide dictionary shared by the inbox mirror and the contact resolver
+     */
+    public static AddressPool shared() {
+        return SHARED;
+    }
+
+    public synchronized int intern(String address) {
+        String key = normalizer.normalize(address);
+        Integer id = idsByAddress.get(key);
+        if (id != null) {
+            addSpelling(id, address);
+            return id;
+        }
+        if (size == addresses.length) {
+            addresses = Arrays.copyOf(addresses, size * 2);
+            spellings = Arrays.copyOf(spellings, size * 2);
+        }
+        addresses[size] = key;
+        spellings[size] = address != null ? new String[]{address} : new String[0];
+        idsByAddress.put(key, size);
+        return size++;
+    }
+
+    public synchronized String get(int id) {
+        return addresses[id];
+    }
+
+    /**
+     * Every raw spelling the id was interned under, first seen first
+     */
+    public synchronized String[] spellings(int id) {
+        return spellings[id].clone();
+    }
+
+    /**
+     * Raw spellings of the sender an address normalizes to; empty if it is not in the pool
+     */
+    public synchronized String[] spellingsOf(String address) {
+        Integer id = idsByAddress.get(normalizer.normalize(address));
+        return id != null ? spellings[id].clone() : new String[0];
+    }
+
+    /**
+     * Id of an address already in the pool, or -1
+     */
+    public synchronized int find(String address) {
+        Integer id = idsByAddress.get(normalizer.normalize(address));
+        return id != null ? id : -1;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void addSpelling(int id, String address) {
+        if (address == null) {
+            return;
+        }
+        String[] known = spellings[id];
+        for (String spelling : known) {
+            if (spelling.equals(address)) {
+                return;
+            }
+        }
+        String[] grown = Arrays.copyOf(known, known.length + 1);
+        grown[known.length] = address;
+        spellings[id] = grown;
+    }
+}
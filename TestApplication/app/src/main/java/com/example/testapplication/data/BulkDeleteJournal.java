@@ -0,0 +1,193 @@
+package com.example.testapplication.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * On-disk state of the current bulk delete job, so an interrupted purge resumes
+ * instead of starting over. The target ids are snapshotted once to a file, sorted and
+ * delta-encoded as varints (one or two bytes per id in practice); the checkpoint
+ * (position and deleted count) lives in SharedPreferences and is updated after every chunk.
+ * Only one job is kept; starting a new one replaces it.
+ */
+public class BulkDeleteJournal {
+    private static final String TAG = "BulkDeleteJournal";
+
+    private static final String PREFS_NAME = "bulk_delete_job";
+    private static final String KEY_LABEL = "label";
+    private static final String KEY_TOTAL = "total";
+    private static final String KEY_POSITION = "position";
+    private static final String KEY_DELETED = "deleted";
+
+    private static final String IDS_FILE = "bulk_delete_ids.bin";
+    private static final int FILE_MAGIC = 0x42444A31; // "BDJ1"
+
+    public static final class Job {
+        public final String label;
+        public final long[] ids;
+        public final int position;
+        public final int deleted;
+
+        Job(String label, long[] ids, int position, int deleted) {
+            this.label = label;
+            this.ids = ids;
+            this.position = position;
+            this.deleted = deleted;
+        }
+
+        public int remaining() {
+            return ids.length - position;
+        }
+    }
+
+    private static BulkDeleteJournal instance;
+    private final SharedPreferences prefs;
+    private final File idsFile;
+
+    private BulkDeleteJournal(Context context) {
+        Context appContext = context.getApplicationContext();
+        this.prefs = appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.idsFile = new File(appContext.getFilesDir(), IDS_FILE);
+    }
+
+    public static synchronized BulkDeleteJournal getInstance(Context context) {
+        if (instance == null) {
+            instance = new BulkDeleteJournal(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Snapshot the target ids and start a job at position 0. The ids are sorted
+     * ascending; delete order does not matter and sorted ids encode compactly.
+     */
+    public synchronized Job start(String label, long[] messageIds) throws IOException {
+        long[] ids = messageIds.clone();
+        Arrays.sort(ids);
+
+        // Write then rename, so a crash never leaves a half-written snapshot behind
+        File tmp = new File(idsFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(ids.length);
+            long previous = 0;
+            for (long id : ids) {
+                writeVarLong(out, id - previous);
+                previous = id;
+            }
+        }
+        if (!tmp.renameTo(idsFile)) {
+            tmp.delete();
+            throw new IOException("Could not write " + idsFile);
+        }
+
+        prefs.edit()
+                .putString(KEY_LABEL, label)
+                .putInt(KEY_TOTAL, ids.length)
+                .putInt(KEY_POSITION, 0)
+                .putInt(KEY_DELETED, 0)
+                .commit();
+        return new Job(label, ids, 0, 0);
+    }
+
+    /**
+     * Record progress after a chunk. Called on the worker thread, so the write is
+     * synchronous: an apply() still in flight when the process dies would replay the chunk.
+     */
+    public synchronized void checkpoint(int position, int deleted) {
+        prefs.edit()
+                .putInt(KEY_POSITION, position)
+                .putInt(KEY_DELETED, deleted)
+                .commit();
+    }
+
+    public synchronized boolean hasPendingJob() {
+        return prefs.contains(KEY_POSITION) && idsFile.exists();
+    }
+
+    /**
+     * Messages left in the pending job according to its checkpoint, or 0 if there is none
+     */
+    public synchronized int getPendingRemaining() {
+        if (!hasPendingJob()) {
+            return 0;
+        }
+        return Math.max(0, prefs.getInt(KEY_TOTAL, 0) - prefs.getInt(KEY_POSITION, 0));
+    }
+
+    /**
+     * The unfinished job, or null if there is none or its snapshot is unreadable
+     */
+    public synchronized Job loadPendingJob() {
+        if (!hasPendingJob()) {
+            return null;
+        }
+
+        long[] ids;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(idsFile)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Unknown snapshot format");
+            }
+            ids = new long[in.readInt()];
+            long previous = 0;
+            for (int i = 0; i < ids.length; i++) {
+                previous += readVarLong(in);
+                ids[i] = previous;
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Discarding unreadable bulk delete snapshot: " + e.getMessage());
+            finish();
+            return null;
+        }
+
+        if (ids.length != prefs.getInt(KEY_TOTAL, -1)) {
+            Log.e(TAG, "Bulk delete snapshot does not match its checkpoint; discarding");
+            finish();
+            return null;
+        }
+
+        int position = Math.min(prefs.getInt(KEY_POSITION, 0), ids.length);
+        return new Job(prefs.getString(KEY_LABEL, ""), ids, position, prefs.getInt(KEY_DELETED, 0));
+    }
+
+    /**
+     * Drop the job state; called when a job completes or is abandoned
+     */
+    public synchronized void finish() {
+        prefs.edit().clear().commit();
+        if (idsFile.exists() && !idsFile.delete()) {
+            Log.w(TAG, "Could not delete " + idsFile);
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.testapplication.data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-day message counts (total, inbox, sent, spam) of the inbox mirror, keyed by local
+ * calendar day and kept current as rows are added and removed, like SenderStats.
+ * Dashboard statistics and spam trends are read from these few rows instead of
+ * scanning every message.
+ */
+public final class DailyStats {
+
+    public static final class Counts {
+        public int total;
+        public int inbox;
+        public int sent;
+        public int spam;
+    }
+
+    private final TreeMap<Long, Counts> days = new TreeMap<>();
+    private final Counts totals = new Counts();
+    // Day keys depend on the time zone they were computed in
+    private ZoneId zone = ZoneId.systemDefault();
+
+    synchronized void add(MessageColumns columns, int row) {
+        update(columns, row, 1);
+    }
+
+    synchronized void remove(MessageColumns columns, int row) {
+        update(columns, row, -1);
+    }
+
+    /**
+     * Recount from a whole snapshot in the current time zone
+     */
+    synchronized void rebuild(MessageColumns columns) {
+        days.clear();
+        totals.total = 0;
+        totals.inbox = 0;
+        totals.sent = 0;
+        totals.spam = 0;
+        zone = ZoneId.systemDefault();
+        for (int row = 0; row < columns.size(); row++) {
+            update(columns, row, 1);
+        }
+    }
+
+    synchronized boolean isInCurrentZone() {
+        return zone.equals(ZoneId.systemDefault());
+    }
+
+    /**
+     * Counts over all days
+     */
+    public synchronized Counts getTotals() {
+        return copy(totals);
+    }
+
+    /**
+     * Counts of today's calendar day
+     */
+    public synchronized Counts getToday() {
+        Counts today = days.get(LocalDate.now(zone).toEpochDay());
+        return copy(today != null ? today : new Counts());
+    }
+
+    /**
+     * Spam per day for the last {@code count} days, oldest first, today last
+     */
+    public synchronized int[] getDailySpam(int count) {
+        return spamBuckets(count, 1);
+    }
+
+    /**
+     * Spam per 7-day week for the last {@code count} weeks, oldest first; the last
+     * week ends today
+     */
+    public synchronized int[] getWeeklySpam(int count) {
+        return spamBuckets(count, 7);
+    }
+
+    private int[] spamBuckets(int count, int daysPerBucket) {
+        int[] buckets = new int[count];
+        long today = LocalDate.now(zone).toEpochDay();
+        long first = today - (long) count * daysPerBucket + 1;
+        for (Map.Entry<Long, Counts> day : days.subMap(first, true, today, true).entrySet()) {
+            buckets[(int) ((day.getKey() - first) / daysPerBucket)] += day.getValue().spam;
+        }
+        return buckets;
+    }
+
+    private void update(MessageColumns columns, int row, int delta) {
+        long day = Instant.ofEpochMilli(columns.date(row)).atZone(zone).toLocalDate().toEpochDay();
+        Counts counts = days.get(day);
+        if (counts == null) {
+            counts = new Counts();
+            days.put(day, counts);
+        }
+        apply(counts, columns, row, delta);
+        apply(totals, columns, row, delta);
+        if (counts.total == 0) {
+            days.remove(day);
+        }
+    }
+
+    private static void apply(Counts counts, MessageColumns columns, int row, int delta) {
+        counts.total += delta;
+        if (columns.type(row) == 1) {
+            counts.inbox += delta;
+        } else if (columns.type(row) == 2) {
+            counts.sent += delta;
+        }
+        if (columns.isSpam(row)) {
+            counts.spam += delta;
+        }
+    }
+
+    private static Counts copy(Counts counts) {
+        Counts copy = new Counts();
+        copy.total = counts.total;
+        copy.inbox = counts.inbox;
+        copy.sent = counts.sent;
+        copy.spam = counts.spam;
+        return copy;
+    }
+}
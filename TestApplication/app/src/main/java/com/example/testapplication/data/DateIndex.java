@@ -0,0 +1,71 @@
+package com.example.testapplication.data;
+
+import java.util.Arrays;
+
+/**
+ * Message dates with their ids, newest first, as parallel primitive arrays. A date
+ * range is a contiguous span found by binary search, so range counts cost O(log n) and
+ * range deletes copy the span's ids directly.
+ */
+public final class DateIndex {
+
+    private final long[] dates;
+    private final long[] ids;
+    private final int size;
+
+    DateIndex(long[] dates, long[] ids, int size) {
+        this.dates = dates;
+        this.ids = ids;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Messages with startDate <= date <= endDate
+     */
+    public int count(long startDate, long endDate) {
+        return Math.max(0, firstBefore(startDate) - firstAtOrBefore(endDate));
+    }
+
+    /**
+     * Ids of messages with startDate <= date <= endDate, newest first
+     */
+    public long[] ids(long startDate, long endDate) {
+        int from = firstAtOrBefore(endDate);
+        int to = firstBefore(startDate);
+        return from < to ? Arrays.copyOfRange(ids, from, to) : new long[0];
+    }
+
+    // First position whose date is <= the given date (dates descend)
+    private int firstAtOrBefore(long date) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid] > date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose date is < the given date
+    private int firstBefore(long date) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid] >= date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
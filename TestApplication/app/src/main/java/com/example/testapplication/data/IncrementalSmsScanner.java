@@ -0,0 +1,321 @@
+package com.example.testapplication.data;
+
+import android.content.Context;
+import android.os.CancellationSignal;
+import android.util.Log;
+
+import com.example.testapplication.models.SmsMessage;
+import com.example.testapplication.utils.SmsHelper;
+import com.example.testapplication.utils.SpamDetector;
+import com.example.testapplication.utils.SpamRuleSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory mirror of the analyzed inbox that is kept current incrementally.
+ * Remembers the highest _id and date already analyzed and only reads rows above that
+ * mark; deletions are detected by comparing row counts and reconciled with an id-set
+ * diff. A refresh after one new SMS reads one row instead of the whole inbox.
+ * The mirror is columnar (see MessageColumns); full SmsMessage objects are only built
+ * for rows that are shown, and a small cache keeps the most recently shown ones.
+ * Per-sender counters (SenderStats) and per-day counts (DailyStats) follow the same
+ * added/removed rows.
+ * Verdicts are not computed here: VerdictStore scores each message once and persists
+ * it, and the mirror reads rows without bodies and copies their verdicts from the index.
+ * A rules change therefore costs one re-score in the store, not a second inbox scan.
+ */
+public class IncrementalSmsScanner {
+    private static final String TAG = "IncrementalSmsScanner";
+
+    // Materialized messages kept for reuse across refreshes
+    private static final int MESSAGE_CACHE_SIZE = 512;
+
+    private static IncrementalSmsScanner instance;
+    private final Context context;
+
+    private final AddressPool addresses = AddressPool.shared();
+    private volatile MessageColumns columns = MessageColumns.empty(addresses);
+    private final SenderStats senderStats = new SenderStats();
+    private final DailyStats dailyStats = new DailyStats();
+
+    private final Map<Long, SmsMessage> messageCache =
+            new LinkedHashMap<Long, SmsMessage>(MESSAGE_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, SmsMessage> eldest) {
+                    return size() > MESSAGE_CACHE_SIZE;
+                }
+            };
+
+    // High-water mark of rows already analyzed
+    private long maxId = -1;
+    private long maxDate = -1;
+    private long rulesVersion;
+
+    // Scan statistics
+    private long refreshCount;
+    private long rowsRead;
+    private int lastRowsRead;
+    private int lastRowsRemoved;
+
+    private IncrementalSmsScanner(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized IncrementalSmsScanner getInstance(Context context) {
+        if (instance == null) {
+            instance = new IncrementalSmsScanner(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Bring the mirror up to date and return the analyzed inbox, newest first.
+     * The returned snapshot is immutable.
+     */
+    public synchronized MessageColumns refresh() {
+        return refresh(null);
+    }
+
+    /**
+     * Cancellable refresh. A cancelled refresh throws OperationCanceledException and
+     * leaves the mirror unchanged; the next refresh picks up where it stopped.
+     * Every cancellable read happens before any state (snapshot, counters, mark, rules
+     * version) is touched, so there is no half-applied refresh to recover from.
+     */
+    public synchronized MessageColumns refresh(CancellationSignal signal) {
+        MessageColumns current = columns;
+        if (!dailyStats.isInCurrentZone()) {
+            dailyStats.rebuild(current);
+        }
+
+        // New and re-ruled messages are scored once, in the index
+        SpamRuleSet rules = SpamDetector.getRuleSet(context);
+        VerdictStore store = VerdictStore.getInstance(context);
+        store.sync();
+        if (signal != null) {
+            signal.throwIfCanceled();
+        }
+
+        boolean rescored = rules.version != rulesVersion && current.size() > 0;
+        if (rescored) {
+            current = store.applyVerdicts(current);
+        }
+
+        MessageColumns added = store.applyVerdicts(readAfter(maxId, maxDate, signal));
+        long[] providerIds = null;
+
+        // Counts only disagree after a deletion (or an insert below the mark)
+        int providerCount = SmsHelper.getInboxCount(context);
+        if (providerCount >= 0 && providerCount != current.size() + added.size() - overlap(current, added)) {
+            providerIds = SmsHelper.getInboxIds(context);
+            if (providerIds != null) {
+                List<SmsMessage> missing = SmsHelper.getMessageRowsByIds(context,
+                        missingIds(providerIds, current, added), signal);
+                added = MessageColumns.merge(added, id -> true, store.applyVerdicts(toColumns(missing)));
+            }
+        }
+
+        // Reads are done; from here on the refresh always completes
+        if (rescored) {
+            synchronized (messageCache) {
+                messageCache.clear();
+            }
+            senderStats.rebuild(current);
+            dailyStats.rebuild(current);
+        }
+        rulesVersion = rules.version;
+
+        if (added.size() == 0 && providerIds == null) {
+            if (rescored) {
+                publish(current, added, 0);
+            } else {
+                recordScan(0, 0);
+            }
+            return current;
+        }
+
+        final long[] live = providerIds;
+        final MessageColumns replaced = added;
+        MessageColumns merged = MessageColumns.merge(current,
+                id -> !replaced.contains(id) && (live == null || Arrays.binarySearch(live, id) >= 0),
+                added, (dropped, row) -> {
+                    senderStats.remove(dropped, row);
+                    dailyStats.remove(dropped, row);
+                });
+        for (int row = 0; row < added.size(); row++) {
+            senderStats.add(added, row);
+            dailyStats.add(added, row);
+        }
+        int removed = current.size() + added.size() - merged.size() - overlap(current, added);
+        publish(merged, added, removed);
+        return merged;
+    }
+
+    // Rows above the mark, without bodies, streamed page by page straight into columns
+    private MessageColumns readAfter(long afterId, long afterDate, CancellationSignal signal) {
+        MessageColumns.Builder builder = new MessageColumns.Builder(addresses);
+        SmsHelper.streamInboxRowsAfter(context, afterId, afterDate, page -> {
+            for (SmsMessage message : page) {
+                builder.append(message);
+            }
+            return true;
+        }, signal);
+        return builder.build();
+    }
+
+    private MessageColumns toColumns(List<SmsMessage> messages) {
+        MessageColumns.Builder builder = new MessageColumns.Builder(addresses);
+        for (SmsMessage message : sortNewestFirst(messages)) {
+            builder.append(message);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Full messages for the given rows, in row order. Rows shown before come from the
+     * cache; the rest are loaded (with bodies) in one id query.
+     */
+    public List<SmsMessage> getMessages(MessageColumns snapshot, int[] rows, CancellationSignal signal) {
+        SmsMessage[] result = new SmsMessage[rows.length];
+        long[] toLoad = new long[rows.length];
+        int loadCount = 0;
+
+        synchronized (messageCache) {
+            for (int i = 0; i < rows.length; i++) {
+                SmsMessage cached = messageCache.get(snapshot.id(rows[i]));
+                if (cached != null) {
+                    result[i] = cached;
+                } else {
+                    toLoad[loadCount++] = snapshot.id(rows[i]);
+                }
+            }
+        }
+
+        if (loadCount > 0) {
+            Map<Long, SmsMessage> loaded = new HashMap<>(loadCount * 2);
+            for (SmsMessage message : SmsHelper.getSmsMessagesByIds(context, Arrays.copyOf(toLoad, loadCount), signal)) {
+                loaded.put(message.id, message);
+            }
+            synchronized (messageCache) {
+                for (int i = 0; i < rows.length; i++) {
+                    if (result[i] == null) {
+                        result[i] = loaded.get(snapshot.id(rows[i]));
+                        if (result[i] != null) {
+                            messageCache.put(result[i].id, result[i]);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<SmsMessage> messages = new ArrayList<>(rows.length);
+        for (SmsMessage message : result) {
+            // Null if the row was deleted from the provider after the snapshot was taken
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Sender counters of the latest refresh
+     */
+    public SenderStats getSenderStats() {
+        return senderStats;
+    }
+
+    /**
+     * Per-day counts of the latest refresh
+     */
+    public DailyStats getDailyStats() {
+        return dailyStats;
+    }
+
+    /**
+     * Forget everything and rescan from scratch on the next refresh
+     */
+    public synchronized void reset() {
+        columns = MessageColumns.empty(addresses);
+        senderStats.rebuild(columns);
+        dailyStats.rebuild(columns);
+        synchronized (messageCache) {
+            messageCache.clear();
+        }
+        maxId = -1;
+        maxDate = -1;
+        rulesVersion = 0;
+    }
+
+    public synchronized long getRefreshCount() {
+        return refreshCount;
+    }
+
+    public synchronized long getRowsRead() {
+        return rowsRead;
+    }
+
+    public synchronized int getLastRowsRead() {
+        return lastRowsRead;
+    }
+
+    public synchronized int getLastRowsRemoved() {
+        return lastRowsRemoved;
+    }
+
+    private void publish(MessageColumns merged, MessageColumns added, int removed) {
+        int read = added.size();
+        for (int row = 0; row < read; row++) {
+            maxId = Math.max(maxId, added.id(row));
+            maxDate = Math.max(maxDate, added.date(row));
+        }
+        columns = merged;
+        recordScan(read, removed);
+        if (read > 0 || removed > 0) {
+            Log.d(TAG, "Incremental scan: read " + read + ", removed " + removed + ", total " + merged.size());
+        }
+    }
+
+    private void recordScan(int read, int removed) {
+        refreshCount++;
+        rowsRead += read;
+        lastRowsRead = read;
+        lastRowsRemoved = removed;
+    }
+
+    // Added rows that replace a row already in the snapshot
+    private static int overlap(MessageColumns current, MessageColumns added) {
+        int count = 0;
+        for (int row = 0; row < added.size(); row++) {
+            if (current.contains(added.id(row))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long[] missingIds(long[] providerIds, MessageColumns current, MessageColumns added) {
+        long[] missing = new long[providerIds.length];
+        int count = 0;
+        for (long id : providerIds) {
+            if (!current.contains(id) && !added.contains(id)) {
+                missing[count++] = id;
+            }
+        }
+        return Arrays.copyOf(missing, count);
+    }
+
+    private static List<SmsMessage> sortNewestFirst(List<SmsMessage> messages) {
+        Collections.sort(messages, (a, b) -> {
+            int byDate = Long.compare(b.date, a.date);
+            return byDate != 0 ? byDate : Long.compare(b.id, a.id);
+        });
+        return messages;
+    }
+}
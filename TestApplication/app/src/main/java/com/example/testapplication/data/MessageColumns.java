@@ -0,0 +1,307 @@
+package com.example.testapplication.data;
+
+import com.example.testapplication.models.SmsMessage;
+import com.example.testapplication.utils.MutableSpamVerdict;
+
+import java.util.Arrays;
+
+/**
+ * Immutable columnar snapshot of the analyzed inbox, newest first (date, then _id,
+ * descending). Each field is a parallel primitive array indexed by row; addresses are
+ * ids into a shared AddressPool and bodies are not kept at all — they are loaded by id
+ * when a row is shown. Views (inbox, spam) are int arrays of row indexes.
+ */
+public final class MessageColumns {
+
+    final AddressPool addresses;
+    final long[] ids;
+    final long[] threadIds;
+    final long[] dates;
+    final byte[] types;
+    final float[] scores;
+    final byte[] flags;
+    final int[] addressIds;
+    final int size;
+
+    // Ids in ascending order, for membership checks during incremental merges
+    final long[] sortedIds;
+
+    // Spam / normal date indexes, built on first use; the snapshot never changes
+    private volatile DateIndex spamDates;
+    private volatile DateIndex normalDates;
+
+    private MessageColumns(AddressPool addresses, int capacity) {
+        this.addresses = addresses;
+        this.ids = new long[capacity];
+        this.threadIds = new long[capacity];
+        this.dates = new long[capacity];
+        this.types = new byte[capacity];
+        this.scores = new float[capacity];
+        this.flags = new byte[capacity];
+        this.addressIds = new int[capacity];
+        this.size = capacity;
+        this.sortedIds = new long[capacity];
+    }
+
+    public static MessageColumns empty() {
+        return empty(new AddressPool());
+    }
+
+    static MessageColumns empty(AddressPool addresses) {
+        return new MessageColumns(addresses, 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public long threadId(int row) {
+        return threadIds[row];
+    }
+
+    public long date(int row) {
+        return dates[row];
+    }
+
+    public int type(int row) {
+        return types[row];
+    }
+
+    public float score(int row) {
+        return scores[row];
+    }
+
+    public boolean isSpam(int row) {
+        return (flags[row] & MutableSpamVerdict.FLAG_SPAM) != 0;
+    }
+
+    public int addressId(int row) {
+        return addressIds[row];
+    }
+
+    public String address(int row) {
+        return addresses.get(addressIds[row]);
+    }
+
+    public AddressPool getAddressPool() {
+        return addresses;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(sortedIds, 0, size, id) >= 0;
+    }
+
+    /**
+     * The first rows, newest first; limit <= 0 means all rows
+     */
+    public int[] newest(int limit) {
+        int count = limit > 0 ? Math.min(limit, size) : size;
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+
+    /**
+     * Rows of the given provider type, newest first; limit <= 0 means no limit
+     */
+    public int[] rowsOfType(int type, int limit) {
+        int[] rows = new int[limit > 0 ? Math.min(limit, size) : size];
+        int count = 0;
+        for (int i = 0; i < size && count < rows.length; i++) {
+            if (types[i] == type) {
+                rows[count++] = i;
+            }
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Spam rows, newest first; limit <= 0 means no limit
+     */
+    public int[] spamRows(int limit) {
+        return rowsBySpam(true, limit);
+    }
+
+    /**
+     * Rows flagged (or not flagged) as spam, newest first; limit <= 0 means no limit
+     */
+    public int[] rowsBySpam(boolean spam, int limit) {
+        int[] rows = new int[limit > 0 ? Math.min(limit, size) : size];
+        int count = 0;
+        for (int i = 0; i < size && count < rows.length; i++) {
+            if (((flags[i] & MutableSpamVerdict.FLAG_SPAM) != 0) == spam) {
+                rows[count++] = i;
+            }
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Date index over all rows; shares this snapshot's arrays, which are already
+     * sorted newest first
+     */
+    public DateIndex dateIndex() {
+        return new DateIndex(dates, ids, size);
+    }
+
+    /**
+     * Date index over spam or normal rows only
+     */
+    public DateIndex dateIndex(boolean spam) {
+        DateIndex index = spam ? spamDates : normalDates;
+        if (index == null) {
+            int[] rows = rowsBySpam(spam, 0);
+            long[] partDates = new long[rows.length];
+            long[] partIds = new long[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                partDates[i] = dates[rows[i]];
+                partIds[i] = ids[rows[i]];
+            }
+            index = new DateIndex(partDates, partIds, rows.length);
+            if (spam) {
+                spamDates = index;
+            } else {
+                normalDates = index;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Merge the rows of {@code base} that {@code keep} accepts with all rows of
+     * {@code added} into a new snapshot; both inputs are newest first
+     */
+    static MessageColumns merge(MessageColumns base, RowFilter keep, MessageColumns added) {
+        return merge(base, keep, added, null);
+    }
+
+    /**
+     * Merge as above, reporting each row of {@code base} that is left out
+     */
+    static MessageColumns merge(MessageColumns base, RowFilter keep, MessageColumns added, RowListener dropped) {
+        int kept = 0;
+        boolean[] keepRow = new boolean[base.size];
+        for (int i = 0; i < base.size; i++) {
+            if (keep.accept(base.ids[i])) {
+                keepRow[i] = true;
+                kept++;
+            } else if (dropped != null) {
+                dropped.onRow(base, i);
+            }
+        }
+
+        MessageColumns merged = new MessageColumns(base.addresses, kept + added.size);
+        int b = 0;
+        int a = 0;
+        int out = 0;
+        while (out < merged.size) {
+            while (b < base.size && !keepRow[b]) {
+                b++;
+            }
+            if (b < base.size && (a == added.size
+                    || newerThan(base.dates[b], base.ids[b], added.dates[a], added.ids[a]))) {
+                merged.copyRow(out++, base, b++);
+            } else {
+                merged.copyRow(out++, added, a++);
+            }
+        }
+
+        merged.indexIds();
+        return merged;
+    }
+
+    interface RowFilter {
+        boolean accept(long id);
+    }
+
+    interface RowListener {
+        void onRow(MessageColumns columns, int row);
+    }
+
+    /**
+     * Collects analyzed messages that arrive newest first (e.g. keyset pages)
+     * without holding on to the message objects
+     */
+    static final class Builder {
+        private MessageColumns buffer;
+        private int count;
+
+        Builder(AddressPool addresses) {
+            this.buffer = new MessageColumns(addresses, 256);
+        }
+
+        void append(SmsMessage message) {
+            if (count == buffer.size) {
+                buffer = buffer.copyOf(buffer.size * 2, count);
+            }
+            buffer.setRow(count++, message);
+        }
+
+        int size() {
+            return count;
+        }
+
+        MessageColumns build() {
+            MessageColumns built = buffer.copyOf(count, count);
+            built.indexIds();
+            return built;
+        }
+    }
+
+    static boolean newerThan(long date, long id, long otherDate, long otherId) {
+        return date != otherDate ? date > otherDate : id > otherId;
+    }
+
+    /**
+     * Writable copy of this snapshot, e.g. to take new verdicts; publish it only once filled
+     */
+    MessageColumns copy() {
+        MessageColumns copy = copyOf(size, size);
+        System.arraycopy(sortedIds, 0, copy.sortedIds, 0, size);
+        return copy;
+    }
+
+    // New columns of the given capacity holding this snapshot's first rows
+    private MessageColumns copyOf(int capacity, int rows) {
+        MessageColumns copy = new MessageColumns(addresses, capacity);
+        System.arraycopy(ids, 0, copy.ids, 0, rows);
+        System.arraycopy(threadIds, 0, copy.threadIds, 0, rows);
+        System.arraycopy(dates, 0, copy.dates, 0, rows);
+        System.arraycopy(types, 0, copy.types, 0, rows);
+        System.arraycopy(scores, 0, copy.scores, 0, rows);
+        System.arraycopy(flags, 0, copy.flags, 0, rows);
+        System.arraycopy(addressIds, 0, copy.addressIds, 0, rows);
+        return copy;
+    }
+
+    private void indexIds() {
+        System.arraycopy(ids, 0, sortedIds, 0, size);
+        Arrays.sort(sortedIds);
+    }
+
+    private void copyRow(int row, MessageColumns from, int fromRow) {
+        ids[row] = from.ids[fromRow];
+        threadIds[row] = from.threadIds[fromRow];
+        dates[row] = from.dates[fromRow];
+        types[row] = from.types[fromRow];
+        scores[row] = from.scores[fromRow];
+        flags[row] = from.flags[fromRow];
+        addressIds[row] = from.addressIds[fromRow];
+    }
+
+    private void setRow(int row, SmsMessage message) {
+        ids[row] = message.id;
+        threadIds[row] = message.threadId;
+        dates[row] = message.date;
+        types[row] = (byte) message.type;
+        scores[row] = message.spamScore;
+        flags[row] = (byte) (message.isSpam ? MutableSpamVerdict.FLAG_SPAM : 0);
+        addressIds[row] = addresses.intern(message.address);
+    }
+}
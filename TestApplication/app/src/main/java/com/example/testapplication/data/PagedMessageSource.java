@@ -0,0 +1,213 @@
+package com.example.testapplication.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.testapplication.models.SmsDisplayModel;
+import com.example.testapplication.models.SmsMessage;
+import com.example.testapplication.utils.ContactResolver;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Paged, windowed access to a list of rows of a MessageColumns snapshot for the main
+ * list. The row count and ids come from the columns, so the list can span the whole
+ * inbox; full messages are loaded a page at a time as positions are bound and turned
+ * into display models on the loading thread, pages around the viewport are
+ * prefetched, and only the most recently used pages are kept. Sender names resolved
+ * after a page was built are patched into its rows.
+ * All public methods are called on the main thread. Pages of every source are loaded
+ * on one shared thread, so sources recreated with the list do not leak threads.
+ */
+public class PagedMessageSource {
+    private static final String TAG = "PagedMessageSource";
+
+    public static final int PAGE_SIZE = 50;
+    // Positions ahead of (and behind) the bound one whose pages are loaded early
+    public static final int PREFETCH_DISTANCE = 30;
+    public static final int MAX_PAGES = 6;
+
+    public interface Listener {
+        void onRowsChanged(int start, int count);
+    }
+
+    private final Context context;
+    private final IncrementalSmsScanner scanner;
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private MessageColumns columns = MessageColumns.empty();
+    private int[] rows = new int[0];
+    private long generation;
+    private Listener listener;
+
+    // Page number -> messages, least recently used evicted first
+    private final Map<Integer, SmsDisplayModel[]> pages = new LinkedHashMap<Integer, SmsDisplayModel[]>(MAX_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, SmsDisplayModel[]> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+
+    public PagedMessageSource(Context context) {
+        this.context = context.getApplicationContext();
+        this.scanner = IncrementalSmsScanner.getInstance(context);
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Switch to new rows. Loaded pages whose ids are unchanged are kept, so a refresh
+     * that only adds messages further down does not blank the visible ones.
+     */
+    public void submit(MessageColumns newColumns, int[] newRows) {
+        MessageColumns oldColumns = columns;
+        int[] oldRows = rows;
+        columns = newColumns;
+        rows = newRows;
+        generation++;
+        loading.clear();
+
+        pages.entrySet().removeIf(entry -> !samePage(entry.getKey(), oldColumns, oldRows));
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public long getId(int position) {
+        return columns.id(rows[position]);
+    }
+
+    public MessageColumns getColumns() {
+        return columns;
+    }
+
+    public int[] getRows() {
+        return rows;
+    }
+
+    /**
+     * The row at the position, or null while its page is loading
+     */
+    public SmsDisplayModel get(int position) {
+        int page = position / PAGE_SIZE;
+        SmsDisplayModel[] messages = pages.get(page);
+        if (messages == null) {
+            load(page);
+        }
+
+        // Prefetch the neighbouring pages the viewport is about to reach
+        int ahead = Math.min(position + PREFETCH_DISTANCE, rows.length - 1) / PAGE_SIZE;
+        int behind = Math.max(position - PREFETCH_DISTANCE, 0) / PAGE_SIZE;
+        if (ahead != page && !pages.containsKey(ahead)) {
+            load(ahead);
+        }
+        if (behind != page && !pages.containsKey(behind)) {
+            load(behind);
+        }
+
+        return messages != null ? messages[position - page * PAGE_SIZE] : null;
+    }
+
+    private void load(int page) {
+        if (!loading.add(page)) {
+            return;
+        }
+
+        final long requestGeneration = generation;
+        final MessageColumns snapshot = columns;
+        final int start = page * PAGE_SIZE;
+        final int[] pageRows = Arrays.copyOfRange(rows, start, Math.min(start + PAGE_SIZE, rows.length));
+
+        LOADER.execute(() -> {
+            SmsDisplayModel[] messages = null;
+            try {
+                List<SmsMessage> loaded = scanner.getMessages(snapshot, pageRows, null);
+
+                // Align by id: rows deleted since the snapshot are missing from the result
+                messages = new SmsDisplayModel[pageRows.length];
+                int next = 0;
+                for (int i = 0; i < pageRows.length && next < loaded.size(); i++) {
+                    if (loaded.get(next).id == snapshot.id(pageRows[i])) {
+                        messages[i] = SmsDisplayModel.from(context, loaded.get(next++));
+                    }
+                }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Error loading page " + page, e);
+                messages = null;
+            } finally {
+                // A failed page is no longer loading, so the next bind retries it
+                final SmsDisplayModel[] result = messages;
+                mainHandler.post(() -> {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    loading.remove(page);
+                    if (result == null) {
+                        return;
+                    }
+                    pages.put(page, result);
+                    if (listener != null) {
+                        listener.onRowsChanged(start, result.length);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Re-resolve sender names of the loaded rows, e.g. after the contact resolver
+     * learned new names or contacts changed, and report the rows that changed
+     */
+    public void refreshContactNames() {
+        ContactResolver resolver = ContactResolver.getInstance(context);
+        for (Map.Entry<Integer, SmsDisplayModel[]> entry : pages.entrySet()) {
+            SmsDisplayModel[] messages = entry.getValue();
+            int first = -1;
+            int last = -1;
+            for (int i = 0; i < messages.length; i++) {
+                SmsDisplayModel model = messages[i];
+                if (model == null) {
+                    continue;
+                }
+                String name = resolver.peekName(model.message.address);
+                if (name != null && (model.contactPending || !name.equals(model.senderText))) {
+                    messages[i] = model.withSenderName(name);
+                    first = first < 0 ? i : first;
+                    last = i;
+                }
+            }
+            if (first >= 0 && listener != null) {
+                listener.onRowsChanged(entry.getKey() * PAGE_SIZE + first, last - first + 1);
+            }
+        }
+    }
+
+    private boolean samePage(int page, MessageColumns oldColumns, int[] oldRows) {
+        int start = page * PAGE_SIZE;
+        int end = Math.min(start + PAGE_SIZE, oldRows.length);
+        if (end > rows.length || end - start != Math.min(PAGE_SIZE, rows.length - start)) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (oldColumns.id(oldRows[i]) != columns.id(rows[i])
+                    || oldColumns.isSpam(oldRows[i]) != columns.isSpam(rows[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
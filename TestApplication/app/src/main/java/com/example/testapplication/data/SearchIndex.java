@@ -0,0 +1,143 @@
+package com.example.testapplication.data;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.example.testapplication.models.SmsMessage;
+import com.example.testapplication.utils.TurkishTokenizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over message bodies in the verdict database: one posting per
+ * (token, message), clustered by token and date so a term's newest messages are read
+ * straight off the primary key, plus an (sms_id, token) index for per-message checks.
+ * Maintained by VerdictStore alongside the verdicts.
+ * Queries are whitespace-separated terms that must all match; a term ending in '*'
+ * matches as a prefix.
+ */
+final class SearchIndex {
+
+    private static final int ESTIMATE_CAP = 1000;
+
+    private SearchIndex() {
+    }
+
+    static void index(SQLiteDatabase db, List<SmsMessage> messages) {
+        // Bodies never change, so re-storing a message (re-scoring) adds nothing new
+        SQLiteStatement insert = db.compileStatement("INSERT OR IGNORE INTO " + VerdictDatabase.TABLE_POSTINGS +
+                " (" + VerdictDatabase.COLUMN_TOKEN + ", " + VerdictDatabase.COLUMN_DATE + ", " +
+                VerdictDatabase.COLUMN_SMS_ID + ") VALUES (?, ?, ?)");
+        try {
+            for (SmsMessage message : messages) {
+                for (String token : TurkishTokenizer.tokenize(message.body)) {
+                    insert.clearBindings();
+                    insert.bindString(1, token);
+                    insert.bindLong(2, message.date);
+                    insert.bindLong(3, message.id);
+                    insert.executeInsert();
+                }
+            }
+        } finally {
+            insert.close();
+        }
+    }
+
+    /**
+     * Drop the postings of the messages matched by an sms_id selection
+     */
+    static void remove(SQLiteDatabase db, String idSelection, String[] idArgs) {
+        db.delete(VerdictDatabase.TABLE_POSTINGS, idSelection, idArgs);
+    }
+
+    /**
+     * Ids of messages matching every term, newest first
+     */
+    static long[] search(SQLiteDatabase db, String query, int limit) {
+        List<String> exact = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        for (String term : query.trim().split("\\s+")) {
+            Set<String> tokens = TurkishTokenizer.tokenize(term);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            List<String> termTokens = new ArrayList<>(tokens);
+            int last = termTokens.size() - 1;
+            exact.addAll(termTokens.subList(0, last));
+            (term.endsWith("*") ? prefixes : exact).add(termTokens.get(last));
+        }
+        if (exact.isEmpty() && prefixes.isEmpty()) {
+            return new long[0];
+        }
+
+        // The rarest exact term drives a scan in date order off the primary key; every
+        // other term is checked per candidate through the (sms_id, token) index, so the
+        // scan stops as soon as the limit is reached
+        Map<String, Integer> estimates = new HashMap<>();
+        for (String token : exact) {
+            estimates.put(token, estimateCount(db, token));
+        }
+        exact.sort((x, y) -> Integer.compare(estimates.get(x), estimates.get(y)));
+        List<String> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT DISTINCT p." + VerdictDatabase.COLUMN_SMS_ID + ", p." +
+                VerdictDatabase.COLUMN_DATE + " FROM " + VerdictDatabase.TABLE_POSTINGS + " p WHERE ");
+        for (int i = 0; i < exact.size() + prefixes.size(); i++) {
+            boolean isExact = i < exact.size();
+            String token = isExact ? exact.get(i) : prefixes.get(i - exact.size());
+            String alias = i == 0 ? "p" : "f";
+            String clause = isExact
+                    ? alias + "." + VerdictDatabase.COLUMN_TOKEN + " = ?"
+                    : alias + "." + VerdictDatabase.COLUMN_TOKEN + " >= ? AND " +
+                      alias + "." + VerdictDatabase.COLUMN_TOKEN + " < ?";
+            args.add(token);
+            if (!isExact) {
+                args.add(prefixEnd(token));
+            }
+
+            if (i == 0) {
+                sql.append(clause);
+            } else {
+                sql.append(" AND EXISTS (SELECT 1 FROM ").append(VerdictDatabase.TABLE_POSTINGS)
+                        .append(" f WHERE f.").append(VerdictDatabase.COLUMN_SMS_ID).append(" = p.")
+                        .append(VerdictDatabase.COLUMN_SMS_ID).append(" AND ").append(clause).append(')');
+            }
+        }
+        sql.append(" ORDER BY p.").append(VerdictDatabase.COLUMN_DATE).append(" DESC, p.")
+                .append(VerdictDatabase.COLUMN_SMS_ID).append(" DESC");
+        if (limit > 0) {
+            sql.append(" LIMIT ").append(limit);
+        }
+
+        try (Cursor cursor = db.rawQuery(sql.toString(), args.toArray(new String[0]))) {
+            if (cursor == null) {
+                return new long[0];
+            }
+            long[] ids = new long[cursor.getCount()];
+            int i = 0;
+            while (cursor.moveToNext()) {
+                ids[i++] = cursor.getLong(0);
+            }
+            return Arrays.copyOf(ids, i);
+        }
+    }
+
+    // Postings of a token, counted only up to a cap: enough to pick the rarest term
+    private static int estimateCount(SQLiteDatabase db, String token) {
+        return (int) DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM (SELECT 1 FROM " +
+                VerdictDatabase.TABLE_POSTINGS + " WHERE " + VerdictDatabase.COLUMN_TOKEN + " = ? LIMIT " +
+                ESTIMATE_CAP + ")", new String[]{token});
+    }
+
+    // Smallest string greater than every string starting with the prefix
+    private static String prefixEnd(String prefix) {
+        int last = prefix.length() - 1;
+        return prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.testapplication.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Per-sender message and spam counters, indexed by AddressPool id and kept current by
+ * the inbox mirror as rows are added, re-scored and removed. The top senders come from
+ * a bounded min-heap over the senders, not a sort of every message, and are cached
+ * until the counters change.
+ */
+public final class SenderStats {
+
+    public static final class Entry {
+        public final int addressId;
+        public final int totalCount;
+        public final int spamCount;
+
+        Entry(int addressId, int totalCount, int spamCount) {
+            this.addressId = addressId;
+            this.totalCount = totalCount;
+            this.spamCount = spamCount;
+        }
+    }
+
+    // Most messages first; ties keep the sender seen first
+    private static final Comparator<Entry> BY_COUNT = (a, b) -> a.totalCount != b.totalCount
+            ? Integer.compare(b.totalCount, a.totalCount)
+            : Integer.compare(a.addressId, b.addressId);
+
+    private int[] totalCounts = new int[64];
+    private int[] spamCounts = new int[64];
+    private int senders;
+
+    private List<Entry> topCache;
+    private int topCacheLimit;
+
+    synchronized void add(MessageColumns columns, int row) {
+        update(columns.addressId(row), columns.isSpam(row), 1);
+    }
+
+    synchronized void remove(MessageColumns columns, int row) {
+        update(columns.addressId(row), columns.isSpam(row), -1);
+    }
+
+    /**
+     * Recount from a whole snapshot, e.g. after every row was re-scored
+     */
+    synchronized void rebuild(MessageColumns columns) {
+        Arrays.fill(totalCounts, 0);
+        Arrays.fill(spamCounts, 0);
+        senders = 0;
+        topCache = null;
+        for (int row = 0; row < columns.size(); row++) {
+            update(columns.addressId(row), columns.isSpam(row), 1);
+        }
+    }
+
+    public synchronized int getSenderCount() {
+        return senders;
+    }
+
+    /**
+     * The senders with the most messages, most first
+     */
+    public synchronized List<Entry> top(int limit) {
+        if (topCache != null && topCacheLimit == limit) {
+            return topCache;
+        }
+
+        PriorityQueue<Entry> heap = new PriorityQueue<>(limit + 1, BY_COUNT.reversed());
+        for (int addressId = 0; addressId < totalCounts.length; addressId++) {
+            if (totalCounts[addressId] == 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(new Entry(addressId, totalCounts[addressId], spamCounts[addressId]));
+            } else if (totalCounts[addressId] > heap.peek().totalCount) {
+                heap.poll();
+                heap.add(new Entry(addressId, totalCounts[addressId], spamCounts[addressId]));
+            }
+        }
+
+        List<Entry> top = new ArrayList<>(heap);
+        Collections.sort(top, BY_COUNT);
+        topCache = Collections.unmodifiableList(top);
+        topCacheLimit = limit;
+        return topCache;
+    }
+
+    private void update(int addressId, boolean spam, int delta) {
+        if (addressId >= totalCounts.length) {
+            int capacity = Math.max(totalCounts.length * 2, addressId + 1);
+            totalCounts = Arrays.copyOf(totalCounts, capacity);
+            spamCounts = Arrays.copyOf(spamCounts, capacity);
+        }
+        int before = totalCounts[addressId];
+        totalCounts[addressId] = before + delta;
+        if (spam) {
+            spamCounts[addressId] += delta;
+        }
+        if (before == 0 && delta > 0) {
+            senders++;
+        } else if (before + delta == 0) {
+            senders--;
+        }
+        topCache = null;
+    }
+}
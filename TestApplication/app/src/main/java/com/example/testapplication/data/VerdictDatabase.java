@@ -0,0 +1,85 @@
+package com.example.testapplication.data;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+/**
+ * Local SQLite schema for the spam verdict index.
+ * One row per analyzed provider SMS, so spam/normal counts, lists and deletes are
+ * indexed lookups instead of re-scoring the inbox; plus the full-text postings of the
+ * same messages (see SearchIndex).
+ */
+public class VerdictDatabase extends SQLiteOpenHelper {
+    private static final String DATABASE_NAME = "spam_verdicts.db";
+    // 2: addresses are stored normalized, 3: search postings
+    private static final int DATABASE_VERSION = 3;
+
+    public static final String TABLE_VERDICTS = "spam_verdicts";
+    public static final String COLUMN_SMS_ID = "sms_id";
+    public static final String COLUMN_DATE = "date";
+    public static final String COLUMN_ADDRESS_ID = "address_id";
+    public static final String COLUMN_SCORE = "score";
+    public static final String COLUMN_FLAGS = "flags";
+    public static final String COLUMN_RULES_VERSION = "rules_version";
+
+    public static final String TABLE_ADDRESSES = "addresses";
+    public static final String COLUMN_ID = "id";
+    public static final String COLUMN_ADDRESS = "address";
+
+    public static final String TABLE_POSTINGS = "search_postings";
+    public static final String COLUMN_TOKEN = "token";
+
+    // Spam bit of the flags column; queries must use this exact expression to hit the index
+    public static final String SPAM_EXPRESSION = "(" + COLUMN_FLAGS + " & 1)";
+
+    /**
+     * Predicate on the spam bit. The value is written inline: selection args are bound as
+     * TEXT, and the expression has no column affinity to convert them, so "= ?" with "1"
+     * would never match.
+     */
+    public static String spamPredicate(boolean isSpam) {
+        return SPAM_EXPRESSION + (isSpam ? " = 1" : " = 0");
+    }
+
+    public VerdictDatabase(Context context) {
+        super(context.getApplicationContext(), DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_VERDICTS + " (" +
+                COLUMN_SMS_ID + " INTEGER PRIMARY KEY, " +
+                COLUMN_DATE + " INTEGER NOT NULL, " +
+                COLUMN_ADDRESS_ID + " INTEGER NOT NULL, " +
+                COLUMN_SCORE + " REAL NOT NULL, " +
+                COLUMN_FLAGS + " INTEGER NOT NULL, " +
+                COLUMN_RULES_VERSION + " INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX idx_verdicts_spam_date ON " + TABLE_VERDICTS +
+                " (" + SPAM_EXPRESSION + ", " + COLUMN_DATE + ")");
+        db.execSQL("CREATE INDEX idx_verdicts_date ON " + TABLE_VERDICTS + " (" + COLUMN_DATE + ")");
+
+        db.execSQL("CREATE TABLE " + TABLE_ADDRESSES + " (" +
+                COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                COLUMN_ADDRESS + " TEXT NOT NULL UNIQUE)");
+
+        // Clustered by token, then date, so a term's postings are read newest first
+        db.execSQL("CREATE TABLE " + TABLE_POSTINGS + " (" +
+                COLUMN_TOKEN + " TEXT NOT NULL, " +
+                COLUMN_DATE + " INTEGER NOT NULL, " +
+                COLUMN_SMS_ID + " INTEGER NOT NULL, " +
+                "PRIMARY KEY (" + COLUMN_TOKEN + ", " + COLUMN_DATE + ", " + COLUMN_SMS_ID + ")) WITHOUT ROWID");
+        // Per-message lookups: deletes and the AND filters of a search
+        db.execSQL("CREATE INDEX idx_postings_sms_token ON " + TABLE_POSTINGS +
+                " (" + COLUMN_SMS_ID + ", " + COLUMN_TOKEN + ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Derived data only: rebuild from the provider
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_VERDICTS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_ADDRESSES);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_POSTINGS);
+        onCreate(db);
+    }
+}
@@ -0,0 +1,359 @@
+package com.example.testapplication.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import com.example.testapplication.models.SmsMessage;
+import com.example.testapplication.utils.AddressNormalizer;
+import com.example.testapplication.utils.MutableSpamVerdict;
+import com.example.testapplication.utils.PermissionHelper;
+import com.example.testapplication.utils.SmsHelper;
+import com.example.testapplication.utils.SmsSelection;
+import com.example.testapplication.utils.SpamDetector;
+import com.example.testapplication.utils.SpamRuleSet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent spam verdict index keyed by provider SMS _id.
+ * sync() scores only rows that are new or were scored under older rules and drops rows
+ * deleted from the provider; counts, id lists and deletes then read the indexed table.
+ * The same passes keep the body search index (SearchIndex) current, and the inbox
+ * mirror (IncrementalSmsScanner) copies its verdicts from here instead of scoring again.
+ * Covers the same rows the app scores: inbox messages (type = 1).
+ */
+public class VerdictStore {
+    private static final String TAG = "VerdictStore";
+
+    // Stay below SQLite's bound-variable limit
+    static final int ID_CHUNK_SIZE = 500;
+
+    private static VerdictStore instance;
+    private final Context context;
+    private final VerdictDatabase database;
+    private final Map<String, Long> addressIds = new HashMap<>();
+
+    private VerdictStore(Context context) {
+        this.context = context.getApplicationContext();
+        this.database = new VerdictDatabase(this.context);
+    }
+
+    public static synchronized VerdictStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new VerdictStore(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Bring the index up to date with the provider and the current rules.
+     * Only rows above the table's high-water mark (max sms_id / date) are read; the full
+     * id list is diffed only when row counts show a deletion.
+     * Returns the number of messages that had to be scored.
+     */
+    public synchronized int sync() {
+        if (!PermissionHelper.hasSmsPermissions(context)) {
+            Log.w(TAG, "SMS permissions not granted");
+            return 0;
+        }
+
+        SpamRuleSet rules = SpamDetector.getRuleSet(context);
+        SQLiteDatabase db = database.getWritableDatabase();
+
+        long maxId = DatabaseUtils.longForQuery(db, "SELECT IFNULL(MAX(" + VerdictDatabase.COLUMN_SMS_ID +
+                "), -1) FROM " + VerdictDatabase.TABLE_VERDICTS, null);
+        long maxDate = DatabaseUtils.longForQuery(db, "SELECT IFNULL(MAX(" + VerdictDatabase.COLUMN_DATE +
+                "), -1) FROM " + VerdictDatabase.TABLE_VERDICTS, null);
+
+        // Streamed in keyset pages; each page is stored before the next is read
+        int scored = SmsHelper.streamInboxMessagesAfter(context, maxId, maxDate, page -> {
+            storeAll(db, page, rules.version);
+            return true;
+        }, null);
+        int removed = 0;
+
+        long indexed = DatabaseUtils.queryNumEntries(db, VerdictDatabase.TABLE_VERDICTS);
+        int providerCount = SmsHelper.getInboxCount(context);
+        if (providerCount >= 0 && providerCount != indexed) {
+            long[] providerIds = SmsHelper.getInboxIds(context);
+            if (providerIds != null) {
+                long[][] diff = diffIds(db, providerIds);
+                removed = diff[1].length;
+                removeAll(diff[1]);
+                scored += scoreAndStore(db, diff[0], rules.version);
+            }
+        }
+
+        // Rows scored under older rules
+        long[] staleIds = queryIds(VerdictDatabase.COLUMN_RULES_VERSION + " != ?",
+                new String[]{String.valueOf(rules.version)}, null);
+        scored += scoreAndStore(db, staleIds, rules.version);
+
+        if (scored > 0 || removed > 0) {
+            Log.d(TAG, "Synced verdicts: scored " + scored + ", removed " + removed);
+        }
+        return scored;
+    }
+
+    /**
+     * Copy of the snapshot with each row's score and spam flag taken from the index.
+     * The rows and the query are both ordered newest first, so this is one merge pass;
+     * rows the index does not have keep their values.
+     */
+    MessageColumns applyVerdicts(MessageColumns columns) {
+        MessageColumns copy = columns.copy();
+        int size = copy.size();
+        if (size == 0) {
+            return copy;
+        }
+
+        String selection;
+        String[] selectionArgs;
+        if (size <= ID_CHUNK_SIZE) {
+            // A few new rows: look them up by key
+            selection = VerdictDatabase.COLUMN_SMS_ID + " IN (" + placeholders(size) + ")";
+            selectionArgs = idArgs(copy.ids, 0, size);
+        } else {
+            selection = VerdictDatabase.COLUMN_DATE + " BETWEEN ? AND ?";
+            selectionArgs = new String[]{String.valueOf(copy.date(size - 1)), String.valueOf(copy.date(0))};
+        }
+
+        SQLiteDatabase db = database.getReadableDatabase();
+        try (Cursor cursor = db.query(VerdictDatabase.TABLE_VERDICTS,
+                new String[]{VerdictDatabase.COLUMN_SMS_ID, VerdictDatabase.COLUMN_DATE,
+                        VerdictDatabase.COLUMN_SCORE, VerdictDatabase.COLUMN_FLAGS},
+                selection, selectionArgs, null, null,
+                VerdictDatabase.COLUMN_DATE + " DESC, " + VerdictDatabase.COLUMN_SMS_ID + " DESC")) {
+            int row = 0;
+            while (cursor != null && row < size && cursor.moveToNext()) {
+                long id = cursor.getLong(0);
+                long date = cursor.getLong(1);
+                while (row < size && MessageColumns.newerThan(copy.dates[row], copy.ids[row], date, id)) {
+                    row++;
+                }
+                if (row < size && copy.ids[row] == id) {
+                    copy.scores[row] = cursor.getFloat(2);
+                    copy.flags[row] = (byte) cursor.getInt(3);
+                    row++;
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Ids of spam or normal messages, newest first; limit <= 0 means no limit
+     */
+    public long[] getIdsByType(boolean isSpam, int limit) {
+        return queryIds(VerdictDatabase.spamPredicate(isSpam), null,
+                limit > 0 ? String.valueOf(limit) : null);
+    }
+
+    /**
+     * Rows matching a filter's spam/date/sender predicates, as an indexed COUNT
+     */
+    public int count(SmsSelection filter) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        return (int) DatabaseUtils.queryNumEntries(db, VerdictDatabase.TABLE_VERDICTS,
+                filter.indexSelection(), filter.indexSelectionArgs());
+    }
+
+    /**
+     * Ids matching a filter, newest first
+     */
+    public long[] getIds(SmsSelection filter) {
+        return queryIds(filter.indexSelection(), filter.indexSelectionArgs(), null);
+    }
+
+    /**
+     * Ids of messages whose bodies contain every query term (a trailing '*' makes a
+     * term a prefix), newest first; limit <= 0 means no limit
+     */
+    public long[] search(String query, int limit) {
+        return SearchIndex.search(database.getReadableDatabase(), query, limit);
+    }
+
+    public void remove(long smsId) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        String[] args = new String[]{String.valueOf(smsId)};
+        db.beginTransaction();
+        try {
+            db.delete(VerdictDatabase.TABLE_VERDICTS, VerdictDatabase.COLUMN_SMS_ID + " = ?", args);
+            SearchIndex.remove(db, VerdictDatabase.COLUMN_SMS_ID + " = ?", args);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void removeAll(long[] smsIds) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (int start = 0; start < smsIds.length; start += ID_CHUNK_SIZE) {
+                int end = Math.min(start + ID_CHUNK_SIZE, smsIds.length);
+                String selection = VerdictDatabase.COLUMN_SMS_ID + " IN (" + placeholders(end - start) + ")";
+                String[] args = idArgs(smsIds, start, end);
+                db.delete(VerdictDatabase.TABLE_VERDICTS, selection, args);
+                SearchIndex.remove(db, selection, args);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Sorted merge of provider ids against indexed ids:
+     * [0] = ids missing from the index, [1] = indexed ids no longer in the provider
+     */
+    private long[][] diffIds(SQLiteDatabase db, long[] providerIds) {
+        long[] storedIds;
+        try (Cursor cursor = db.query(VerdictDatabase.TABLE_VERDICTS,
+                new String[]{VerdictDatabase.COLUMN_SMS_ID},
+                null, null, null, null, VerdictDatabase.COLUMN_SMS_ID + " ASC")) {
+            storedIds = new long[cursor != null ? cursor.getCount() : 0];
+            int i = 0;
+            if (cursor != null && cursor.moveToFirst()) {
+                do {
+                    storedIds[i++] = cursor.getLong(0);
+                } while (cursor.moveToNext());
+            }
+        }
+
+        long[] missing = new long[providerIds.length];
+        int missingCount = 0;
+        long[] deleted = new long[storedIds.length];
+        int deletedCount = 0;
+
+        int p = 0;
+        int s = 0;
+        while (p < providerIds.length || s < storedIds.length) {
+            if (s == storedIds.length || (p < providerIds.length && providerIds[p] < storedIds[s])) {
+                missing[missingCount++] = providerIds[p++];
+            } else if (p == providerIds.length || storedIds[s] < providerIds[p]) {
+                deleted[deletedCount++] = storedIds[s++];
+            } else {
+                p++;
+                s++;
+            }
+        }
+        return new long[][]{Arrays.copyOf(missing, missingCount), Arrays.copyOf(deleted, deletedCount)};
+    }
+
+    // Load, score and store the given ids one chunk at a time
+    private int scoreAndStore(SQLiteDatabase db, long[] smsIds, long rulesVersion) {
+        int stored = 0;
+        for (int start = 0; start < smsIds.length; start += ID_CHUNK_SIZE) {
+            int end = Math.min(start + ID_CHUNK_SIZE, smsIds.length);
+            List<SmsMessage> messages = SmsHelper.getSmsMessagesByIds(context, Arrays.copyOfRange(smsIds, start, end));
+            storeAll(db, messages, rulesVersion);
+            stored += messages.size();
+        }
+        return stored;
+    }
+
+    /**
+     * Store already scored messages; sync() is the normal way rows get in
+     */
+    void store(List<SmsMessage> messages, long rulesVersion) {
+        storeAll(database.getWritableDatabase(), messages, rulesVersion);
+    }
+
+    private void storeAll(SQLiteDatabase db, List<SmsMessage> messages, long rulesVersion) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        SQLiteStatement insert = db.compileStatement("INSERT OR REPLACE INTO " + VerdictDatabase.TABLE_VERDICTS +
+                " (" + VerdictDatabase.COLUMN_SMS_ID + ", " + VerdictDatabase.COLUMN_DATE + ", " +
+                VerdictDatabase.COLUMN_ADDRESS_ID + ", " + VerdictDatabase.COLUMN_SCORE + ", " +
+                VerdictDatabase.COLUMN_FLAGS + ", " + VerdictDatabase.COLUMN_RULES_VERSION +
+                ") VALUES (?, ?, ?, ?, ?, ?)");
+
+        db.beginTransaction();
+        try {
+            for (SmsMessage message : messages) {
+                insert.clearBindings();
+                insert.bindLong(1, message.id);
+                insert.bindLong(2, message.date);
+                insert.bindLong(3, addressId(db, message.address));
+                insert.bindDouble(4, message.spamScore);
+                insert.bindLong(5, message.isSpam ? MutableSpamVerdict.FLAG_SPAM : 0);
+                insert.bindLong(6, rulesVersion);
+                insert.executeInsert();
+            }
+            SearchIndex.index(db, messages);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+
+    private long addressId(SQLiteDatabase db, String address) {
+        // One row per sender, whichever way the provider spelled the number
+        String key = AddressNormalizer.getDefault().normalize(address);
+        Long cached = addressIds.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long id = DatabaseUtils.longForQuery(db,
+                "SELECT IFNULL((SELECT " + VerdictDatabase.COLUMN_ID + " FROM " + VerdictDatabase.TABLE_ADDRESSES +
+                        " WHERE " + VerdictDatabase.COLUMN_ADDRESS + " = ?), -1)",
+                new String[]{key});
+        if (id < 0) {
+            ContentValues values = new ContentValues();
+            values.put(VerdictDatabase.COLUMN_ADDRESS, key);
+            id = db.insertWithOnConflict(VerdictDatabase.TABLE_ADDRESSES, null, values,
+                    SQLiteDatabase.CONFLICT_IGNORE);
+        }
+        addressIds.put(key, id);
+        return id;
+    }
+
+    private long[] queryIds(String selection, String[] selectionArgs, String limit) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        try (Cursor cursor = db.query(VerdictDatabase.TABLE_VERDICTS,
+                new String[]{VerdictDatabase.COLUMN_SMS_ID},
+                selection, selectionArgs, null, null,
+                VerdictDatabase.COLUMN_DATE + " DESC", limit)) {
+            if (cursor == null) {
+                return new long[0];
+            }
+            long[] ids = new long[cursor.getCount()];
+            int i = 0;
+            if (cursor.moveToFirst()) {
+                do {
+                    ids[i++] = cursor.getLong(0);
+                } while (cursor.moveToNext());
+            }
+            return ids;
+        }
+    }
+
+    static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ",?");
+        }
+        return builder.toString();
+    }
+
+    static String[] idArgs(long[] ids, int start, int end) {
+        String[] args = new String[end - start];
+        for (int i = start; i < end; i++) {
+            args[i - start] = String.valueOf(ids[i]);
+        }
+        return args;
+    }
+}
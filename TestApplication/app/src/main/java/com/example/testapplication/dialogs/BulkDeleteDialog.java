@@ -473,7 +473,8 @@ public class BulkDeleteDialog {
         
         builder.setView(progressView);
         builder.setNegativeButton(R.string.action_cancel, (dialog, which) -> {
-            // Cancel operation logic here
+            // Stops after the current chunk; the job stays resumable on next launch
+            repository.cancelBulkDelete();
         });
         
         currentDialog = builder.create();
@@ -491,6 +492,22 @@ public class BulkDeleteDialog {
         }
     }
     
+    /**
+     * Update progress with the estimated time left (etaMillis < 0 when unknown)
+     */
+    public void updateProgress(int current, int total, long etaMillis) {
+        if (etaMillis < 0) {
+            updateProgress(current, total);
+            return;
+        }
+        if (progressBar != null && progressText != null) {
+            int percentage = (int) ((float) current / total * 100);
+            progressBar.setProgress(percentage);
+            long etaSeconds = (etaMillis + 999) / 1000;
+            progressText.setText(context.getString(R.string.progress_deleting_eta, current, total, etaSeconds));
+        }
+    }
+    
     /**
      * Hide current dialog
      */
@@ -0,0 +1,149 @@
+package com.example.testapplication.models;
+
+import android.content.Context;
+
+import com.example.testapplication.utils.ContactResolver;
+import com.example.testapplication.utils.MutableSpamVerdict;
+import com.example.testapplication.utils.SpamDetector;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Everything a message row shows, computed off the main thread: the resolved contact
+ * name, formatted date, type label, spam score text and the rendered context analysis.
+ * Binding a row only assigns these strings.
+ */
+public class SmsDisplayModel {
+
+    // SimpleDateFormat is not thread-safe; one per building thread
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat("dd/MM/yyyy HH:mm", new Locale("tr", "TR"));
+        }
+    };
+
+    // Scratch holder for the context analysis, reused per building thread
+    private static final ThreadLocal<MutableSpamVerdict> SCRATCH = new ThreadLocal<MutableSpamVerdict>() {
+        @Override
+        protected MutableSpamVerdict initialValue() {
+            return new MutableSpamVerdict();
+        }
+    };
+
+    public final SmsMessage message;
+    public final String senderText;
+    // The contact name was not known yet; senderText shows the number meanwhile
+    public final boolean contactPending;
+    public final String messageIdText;
+    public final String bodyText;
+    public final String dateText;
+    public final String typeText;
+    // Null for messages that are not spam
+    public final String spamScoreText;
+    // Null for blank messages, which have no details to expand
+    public final String contextDetails;
+
+    private SmsDisplayModel(SmsMessage message, String senderText, boolean contactPending, String messageIdText,
+                            String dateText, String typeText, String spamScoreText, String contextDetails) {
+        this.message = message;
+        this.senderText = senderText;
+        this.contactPending = contactPending;
+        this.messageIdText = messageIdText;
+        this.bodyText = message.body != null ? message.body : "";
+        this.dateText = dateText;
+        this.typeText = typeText;
+        this.spamScoreText = spamScoreText;
+        this.contextDetails = contextDetails;
+    }
+
+    /**
+     * Build the row model; scans the body for the context analysis, so call it on a
+     * background thread. Score and spam flag are the message's stored verdict and are not
+     * recomputed. Contact names come from the resolver's cache and never wait on the provider.
+     */
+    public static SmsDisplayModel from(Context context, SmsMessage message) {
+        String contactName = ContactResolver.getInstance(context).peekName(message.address);
+
+        String spamScoreText = message.isSpam
+                ? String.format(Locale.getDefault(), "Spam Score: %.0f%%", message.spamScore * 100)
+                : null;
+
+        SpamDetector.ContextAnalysis analysis = SpamDetector.analyzeContext(
+                message.body, SpamDetector.getRuleSet(context), SCRATCH.get());
+        String contextDetails = analysis != null ? buildContextDetailsText(analysis) : null;
+
+        boolean pending = contactName == null;
+        String senderText = pending ? message.address : contactName;
+        return new SmsDisplayModel(message, senderText, pending, messageIdText(message, senderText),
+                formatDate(message.date), getMessageTypeText(message.type), spamScoreText, contextDetails);
+    }
+
+    /**
+     * Same row with another sender name, e.g. once the contact is resolved
+     */
+    public SmsDisplayModel withSenderName(String contactName) {
+        return new SmsDisplayModel(message, contactName, false, messageIdText(message, contactName),
+                dateText, typeText, spamScoreText, contextDetails);
+    }
+
+    private static String messageIdText(SmsMessage message, String senderText) {
+        return senderText != null && !senderText.equals(message.address)
+                ? message.address + " • ID: " + message.id
+                : "ID: " + message.id;
+    }
+
+    /**
+     * Build context analysis details text
+     */
+    private static String buildContextDetailsText(SpamDetector.ContextAnalysis context) {
+        StringBuilder details = new StringBuilder();
+
+        // Message length info
+        details.append("• Mesaj uzunluğu: ").append(context.messageLength)
+               .append(" karakter (").append(context.lengthCategory).append(")\n");
+
+        // Keyword count and density
+        details.append("• Anahtar kelime sayısı: ").append(context.keywordCount).append("\n");
+        details.append("• Kelime yoğunluğu: %").append(String.format(Locale.getDefault(), "%.1f", context.keywordDensity)).append("\n");
+
+        // Context multiplier
+        details.append("• Bağlam çarpanı: ").append(String.format(Locale.getDefault(), "%.1fx", context.contextMultiplier));
+
+        // Context description
+        if (!context.contextDescription.isEmpty()) {
+            details.append("\n• ").append(context.contextDescription);
+        }
+
+        return details.toString();
+    }
+
+    private static String formatDate(long timestamp) {
+        try {
+            return DATE_FORMAT.get().format(new Date(timestamp));
+        } catch (Exception e) {
+            return "Unknown date";
+        }
+    }
+
+    private static String getMessageTypeText(int type) {
+        switch (type) {
+            case 1:
+                return "INBOX";
+            case 2:
+                return "SENT";
+            case 3:
+                return "DRAFT";
+            case 4:
+                return "OUTBOX";
+            case 5:
+                return "FAILED";
+            case 6:
+                return "QUEUED";
+            default:
+                return "UNKNOWN";
+        }
+    }
+}
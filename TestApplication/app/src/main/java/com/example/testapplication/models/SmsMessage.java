@@ -1,5 +1,7 @@
 package com.example.testapplication.models;
 
+import com.example.testapplication.utils.SpamExplanation;
+
 public class SmsMessage {
     public long id;
     public long threadId;
@@ -10,13 +12,13 @@ public class SmsMessage {
     public boolean isSpam;
     public boolean isBlocked;
     public float spamScore;
-    public String spamReason;
+    public SpamExplanation spamExplanation;
 
     public SmsMessage() {
         this.isSpam = false;
         this.isBlocked = false;
         this.spamScore = 0.0f;
-        this.spamReason = "";
+        this.spamExplanation = SpamExplanation.NONE;
     }
 
     public SmsMessage(long id, long threadId, String address, String body, long date, int type) {
@@ -41,6 +43,13 @@ public class SmsMessage {
         return android.text.format.DateFormat.format("dd/MM/yyyy HH:mm", date).toString();
     }
 
+    /**
+     * Spam reason summary, rendered on demand from the recorded reason codes
+     */
+    public String getSpamReason() {
+        return spamExplanation.summary();
+    }
+
     public String getSenderName() {
         if (address == null || address.isEmpty()) {
             return "Unknown";
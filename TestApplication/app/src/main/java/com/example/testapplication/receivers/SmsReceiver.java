@@ -13,6 +13,7 @@ import android.util.Log;
 // Import not needed - using fully qualified name to avoid conflict with android.telephony.SmsMessage
 // import com.example.testapplication.models.SmsMessage;
 import com.example.testapplication.repositories.SmsRepository;
+import com.example.testapplication.utils.MutableSpamVerdict;
 import com.example.testapplication.utils.SpamDetector;
 
 public class SmsReceiver extends BroadcastReceiver {
@@ -90,11 +91,12 @@ public class SmsReceiver extends BroadcastReceiver {
                 Log.e(TAG, "Failed to save SMS to system - message may be lost!");
             }
 
-            SpamDetector.SpamAnalysisResult spamResult = 
-                SpamDetector.analyzeMessage(messageBody, sender, context);
+            // Reasons stay as codes; render them via SpamDetector.explain() if they are shown
+            MutableSpamVerdict spamVerdict = new MutableSpamVerdict();
+            SpamDetector.analyzeInto(messageBody, sender, SpamDetector.getRuleSet(context), spamVerdict);
             
-            if (spamResult.isSpam) {
-                handleSpamMessage(context, sender, messageBody, spamResult);
+            if (spamVerdict.isSpam()) {
+                handleSpamMessage(context, sender, messageBody, spamVerdict);
             } else {
                 handleCleanMessage(context, sender, messageBody);
             }
@@ -162,7 +164,7 @@ public class SmsReceiver extends BroadcastReceiver {
     }
 
     private void handleSpamMessage(Context context, String sender, String messageBody, 
-                                 SpamDetector.SpamAnalysisResult spamResult) {
+                                 MutableSpamVerdict spamVerdict) {
         
         // TODO Phase 2: Implement spam blocking logic
         // - Move message to spam folder
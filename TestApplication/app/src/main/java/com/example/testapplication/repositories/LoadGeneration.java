@@ -0,0 +1,48 @@
+package com.example.testapplication.repositories;
+
+import android.os.CancellationSignal;
+
+/**
+ * Generation counter for one LiveData target. Beginning a load supersedes the one
+ * before it: the old load's CancellationSignal is cancelled so its cursor loop stops
+ * early, and if its result still arrives it is discarded instead of posted.
+ */
+public final class LoadGeneration {
+
+    public static final class Token {
+        final long generation;
+        public final CancellationSignal signal;
+
+        Token(long generation, CancellationSignal signal) {
+            this.generation = generation;
+            this.signal = signal;
+        }
+    }
+
+    private long generation;
+    private CancellationSignal currentSignal;
+    private long supersededCount;
+
+    public synchronized Token begin() {
+        if (currentSignal != null) {
+            currentSignal.cancel();
+        }
+        currentSignal = new CancellationSignal();
+        return new Token(++generation, currentSignal);
+    }
+
+    public synchronized boolean isCurrent(Token token) {
+        return token.generation == generation;
+    }
+
+    /**
+     * Record that a load's result was dropped because a newer one began
+     */
+    synchronized void discarded() {
+        supersededCount++;
+    }
+
+    public synchronized long getSupersededCount() {
+        return supersededCount;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.testapplication.repositories;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+/**
+ * Throttles bulk operation progress to at most a fixed number of main-thread updates
+ * per second. Worker threads may report after every item; intermediate values are
+ * coalesced and only the latest one is delivered. Each update carries the throughput
+ * of this run and an ETA for the rest.
+ */
+public final class ProgressReporter {
+
+    public static final int DEFAULT_UPDATES_PER_SECOND = 10;
+
+    private final Handler mainHandler;
+    private final SmsRepository.BulkOperationCallback callback;
+    private final long intervalMs;
+    private final Runnable flush = this::flush;
+
+    private final long startTime;
+    private final int startPosition;
+
+    // Latest reported values, delivered by the next flush
+    private int current;
+    private int total;
+    private long lastEmitTime;
+    private boolean flushPosted;
+
+    public ProgressReporter(Handler mainHandler, SmsRepository.BulkOperationCallback callback,
+                            int updatesPerSecond, int startPosition) {
+        this.mainHandler = mainHandler;
+        this.callback = callback;
+        this.intervalMs = 1000L / Math.max(1, updatesPerSecond);
+        this.startPosition = startPosition;
+        this.startTime = SystemClock.elapsedRealtime();
+        this.lastEmitTime = startTime - intervalMs;
+    }
+
+    /**
+     * Record progress from any thread; delivery happens on the main thread
+     */
+    public synchronized void report(int current, int total) {
+        this.current = current;
+        this.total = total;
+        if (callback == null || flushPosted) {
+            return;
+        }
+
+        // The final value is never held back
+        long wait = current >= total ? 0 : lastEmitTime + intervalMs - SystemClock.elapsedRealtime();
+        flushPosted = true;
+        if (wait <= 0) {
+            mainHandler.post(flush);
+        } else {
+            mainHandler.postDelayed(flush, wait);
+        }
+    }
+
+    /**
+     * Drop any update not yet delivered, e.g. right before onCompleted
+     */
+    public synchronized void cancel() {
+        mainHandler.removeCallbacks(flush);
+        flushPosted = false;
+    }
+
+    private void flush() {
+        int reportedCurrent;
+        int reportedTotal;
+        double messagesPerSecond;
+        long etaMillis;
+        synchronized (this) {
+            if (!flushPosted) {
+                return;
+            }
+            flushPosted = false;
+            lastEmitTime = SystemClock.elapsedRealtime();
+
+            reportedCurrent = current;
+            reportedTotal = total;
+            long elapsed = Math.max(1, lastEmitTime - startTime);
+            messagesPerSecond = (reportedCurrent - startPosition) * 1000.0 / elapsed;
+            etaMillis = messagesPerSecond > 0
+                    ? (long) ((reportedTotal - reportedCurrent) * 1000.0 / messagesPerSecond)
+                    : -1;
+        }
+        callback.onProgress(reportedCurrent, reportedTotal, messagesPerSecond, etaMillis);
+    }
+}
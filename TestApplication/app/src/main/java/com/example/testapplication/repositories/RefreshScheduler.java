@@ -0,0 +1,117 @@
+package com.example.testapplication.repositories;
+
+import android.os.Handler;
+import android.util.Log;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Coalesces refresh requests. Requests arriving within the window share one run,
+ * requests made while a run is already queued are dropped as duplicates, and at most
+ * one follow-up run is queued while a refresh is in progress, so runs never overlap
+ * and results are published in the order they were loaded.
+ */
+public final class RefreshScheduler {
+    private static final String TAG = "RefreshScheduler";
+
+    public static final long DEFAULT_WINDOW_MS = 300;
+
+    public interface Refresh {
+        /**
+         * Load on a background thread; the returned runnable (may be null)
+         * publishes the result on the main thread
+         */
+        Runnable load();
+    }
+
+    private final Handler mainHandler;
+    private final Executor executor;
+    private final Refresh refresh;
+    private final Runnable startRun = this::startRun;
+
+    private long windowMs = DEFAULT_WINDOW_MS;
+    private boolean scheduled;
+    private boolean running;
+    private boolean rerun;
+
+    // Counters
+    private long requestedCount;
+    private long coalescedCount;
+    private long runCount;
+
+    public RefreshScheduler(Handler mainHandler, Executor executor, Refresh refresh) {
+        this.mainHandler = mainHandler;
+        this.executor = executor;
+        this.refresh = refresh;
+    }
+
+    public synchronized void setWindowMs(long windowMs) {
+        this.windowMs = Math.max(0, windowMs);
+    }
+
+    public synchronized void request() {
+        requestedCount++;
+        if (scheduled) {
+            coalescedCount++;
+        } else if (running) {
+            // Data may change after the running load read it; queue one follow-up
+            if (rerun) {
+                coalescedCount++;
+            }
+            rerun = true;
+        } else {
+            schedule();
+        }
+    }
+
+    public synchronized long getRequestedCount() {
+        return requestedCount;
+    }
+
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public synchronized long getRunCount() {
+        return runCount;
+    }
+
+    private void schedule() {
+        scheduled = true;
+        mainHandler.postDelayed(startRun, windowMs);
+    }
+
+    private void startRun() {
+        synchronized (this) {
+            scheduled = false;
+            running = true;
+            runCount++;
+        }
+
+        executor.execute(() -> {
+            Runnable publish = null;
+            try {
+                publish = refresh.load();
+            } catch (Exception e) {
+                Log.e(TAG, "Refresh failed: " + e.getMessage(), e);
+            } finally {
+                final Runnable result = publish;
+                mainHandler.post(() -> finishRun(result));
+            }
+        });
+    }
+
+    private void finishRun(Runnable publish) {
+        synchronized (this) {
+            running = false;
+            if (rerun) {
+                rerun = false;
+                schedule();
+            }
+        }
+
+        if (publish != null) {
+            publish.run();
+        }
+    }
+}
@@ -1,43 +1,72 @@
 package com.example.testapplication.repositories;
 
 import android.content.Context;
+import android.os.CancellationSignal;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.OperationCanceledException;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.testapplication.data.AddressPool;
+import com.example.testapplication.data.BulkDeleteJournal;
+import com.example.testapplication.data.IncrementalSmsScanner;
+import com.example.testapplication.data.MessageColumns;
+import com.example.testapplication.data.SenderStats;
 import com.example.testapplication.models.SmsMessage;
+import com.example.testapplication.utils.BatchSmsDeleter;
+import com.example.testapplication.utils.PermissionHelper;
 import com.example.testapplication.utils.SmsHelper;
+import com.example.testapplication.utils.SmsSelection;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 public class SmsRepository {
     private static final String TAG = "SmsRepository";
     
+    // Default list sizes
+    private static final int ALL_MESSAGES_LIMIT = 100;
+    private static final int INBOX_MESSAGES_LIMIT = 50;
+    private static final int FREQUENT_SENDERS_LIMIT = 20;
+    private static final int SEARCH_RESULTS_LIMIT = 200;
+    
     private static SmsRepository instance;
     private final Context context;
     private final ExecutorService executor;
     private final Handler mainHandler;
+    private final RefreshScheduler refreshScheduler;
+    private volatile int deleteChunkSize = BatchSmsDeleter.DEFAULT_CHUNK_SIZE;
+    private volatile int progressUpdatesPerSecond = ProgressReporter.DEFAULT_UPDATES_PER_SECOND;
+    // Signal of the running bulk delete job, null when none is running
+    private CancellationSignal bulkJobSignal;
     
     // LiveData for reactive updates
     private final MutableLiveData<List<SmsMessage>> allMessages = new MutableLiveData<>();
     private final MutableLiveData<List<SmsMessage>> inboxMessages = new MutableLiveData<>();
     private final MutableLiveData<List<SmsMessage>> spamMessages = new MutableLiveData<>();
     private final MutableLiveData<SmsHelper.SmsStatistics> statistics = new MutableLiveData<>();
+    // Whole analyzed inbox as columns; the main list pages through it
+    private final MutableLiveData<MessageColumns> messageColumns = new MutableLiveData<>();
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>();
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
+    
+    // Load generations per LiveData; a newer load cancels and discards the older one
+    private final LoadGeneration allMessagesLoads = new LoadGeneration();
+    private final LoadGeneration inboxMessagesLoads = new LoadGeneration();
+    private final LoadGeneration spamMessagesLoads = new LoadGeneration();
+    private final LoadGeneration statisticsLoads = new LoadGeneration();
 
     private SmsRepository(Context context) {
         this.context = context.getApplicationContext();
         this.executor = Executors.newFixedThreadPool(3);
         this.mainHandler = new Handler(Looper.getMainLooper());
+        this.refreshScheduler = new RefreshScheduler(mainHandler, executor, this::loadAllViews);
         
         // Initialize with empty state
         isLoading.setValue(false);
@@ -68,6 +97,10 @@ public class SmsRepository {
         return statistics;
     }
 
+    public LiveData<MessageColumns> getMessageColumns() {
+        return messageColumns;
+    }
+
     public LiveData<Boolean> getIsLoading() {
         return isLoading;
     }
@@ -78,18 +111,21 @@ public class SmsRepository {
 
     // Data loading methods
     public void loadAllMessages() {
-        loadAllMessages(100); // Default limit
+        loadAllMessages(ALL_MESSAGES_LIMIT);
     }
 
     public void loadAllMessages(int limit) {
+        LoadGeneration.Token token = allMessagesLoads.begin();
         setLoading(true);
         clearError();
         
         executor.execute(() -> {
             try {
-                List<SmsMessage> messages = SmsHelper.getAllSmsMessages(context, limit);
-                postResult(allMessages, messages);
+                List<SmsMessage> messages = SmsHelper.getAllSmsMessages(context, limit, token.signal);
+                postResult(allMessagesLoads, token, allMessages, messages);
                 
+            } catch (OperationCanceledException e) {
+                android.util.Log.d(TAG, "Superseded load cancelled");
             } catch (Exception e) {
                 postError("Failed to load messages: " + e.getMessage());
             } finally {
@@ -99,18 +135,21 @@ public class SmsRepository {
     }
 
     public void loadInboxMessages() {
-        loadInboxMessages(50);
+        loadInboxMessages(INBOX_MESSAGES_LIMIT);
     }
 
     public void loadInboxMessages(int limit) {
+        LoadGeneration.Token token = inboxMessagesLoads.begin();
         setLoading(true);
         clearError();
         
         executor.execute(() -> {
             try {
-                List<SmsMessage> messages = SmsHelper.getInboxMessages(context, limit);
-                postResult(inboxMessages, messages);
+                List<SmsMessage> messages = SmsHelper.getInboxMessages(context, limit, token.signal);
+                postResult(inboxMessagesLoads, token, inboxMessages, messages);
                 
+            } catch (OperationCanceledException e) {
+                android.util.Log.d(TAG, "Superseded load cancelled");
             } catch (Exception e) {
                 postError("Failed to load inbox messages: " + e.getMessage());
             } finally {
@@ -120,14 +159,17 @@ public class SmsRepository {
     }
 
     public void loadSpamMessages() {
+        LoadGeneration.Token token = spamMessagesLoads.begin();
         setLoading(true);
         clearError();
         
         executor.execute(() -> {
             try {
-                List<SmsMessage> messages = SmsHelper.getSpamMessages(context);
-                postResult(spamMessages, messages);
+                List<SmsMessage> messages = SmsHelper.getSpamMessages(context, token.signal);
+                postResult(spamMessagesLoads, token, spamMessages, messages);
                 
+            } catch (OperationCanceledException e) {
+                android.util.Log.d(TAG, "Superseded load cancelled");
             } catch (Exception e) {
                 postError("Failed to load spam messages: " + e.getMessage());
             } finally {
@@ -137,11 +179,14 @@ public class SmsRepository {
     }
 
     public void loadStatistics() {
+        LoadGeneration.Token token = statisticsLoads.begin();
         executor.execute(() -> {
             try {
-                SmsHelper.SmsStatistics stats = SmsHelper.getSmsStatistics(context);
-                postResult(statistics, stats);
+                SmsHelper.SmsStatistics stats = SmsHelper.getSmsStatistics(context, token.signal);
+                postResult(statisticsLoads, token, statistics, stats);
                 
+            } catch (OperationCanceledException e) {
+                android.util.Log.d(TAG, "Superseded load cancelled");
             } catch (Exception e) {
                 postError("Failed to load statistics: " + e.getMessage());
             }
@@ -172,6 +217,11 @@ public class SmsRepository {
         
         executor.execute(() -> {
             try {
+                if (!PermissionHelper.isDefaultSmsApp(context)) {
+                    postError("Failed to delete spam messages: app is not the default SMS app");
+                    postCallback(callback, 0);
+                    return;
+                }
                 int deletedCount = SmsHelper.deleteSpamMessages(context);
                 postCallback(callback, deletedCount);
                 
@@ -201,11 +251,61 @@ public class SmsRepository {
     }
 
     // Utility methods
+    
+    /**
+     * Request a full refresh. Bursts of requests (content observer, receivers,
+     * bulk operations) are coalesced into a single run by the refresh scheduler.
+     */
     public void refreshAllData() {
-        loadStatistics();
-        loadAllMessages();
-        loadInboxMessages();
-        loadSpamMessages();
+        refreshScheduler.request();
+    }
+    
+    /**
+     * How long refresh requests are collected before one refresh runs
+     */
+    public void setRefreshWindow(long windowMs) {
+        refreshScheduler.setWindowMs(windowMs);
+    }
+    
+    public long getRefreshRequestedCount() {
+        return refreshScheduler.getRequestedCount();
+    }
+    
+    public long getRefreshRunCount() {
+        return refreshScheduler.getRunCount();
+    }
+    
+    /**
+     * Rebuild every view from one pass over the inbox; the returned runnable
+     * publishes them together, so observers never see lists and statistics
+     * from different scans
+     */
+    private Runnable loadAllViews() {
+        // Supersedes single-view loads already in flight; ones started later win
+        LoadGeneration.Token statisticsToken = statisticsLoads.begin();
+        LoadGeneration.Token allToken = allMessagesLoads.begin();
+        LoadGeneration.Token inboxToken = inboxMessagesLoads.begin();
+        LoadGeneration.Token spamToken = spamMessagesLoads.begin();
+        setLoading(true);
+        clearError();
+        
+        try {
+            SmsHelper.MessageViews views = SmsHelper.getMessageViews(context,
+                    ALL_MESSAGES_LIMIT, INBOX_MESSAGES_LIMIT);
+            return () -> {
+                setIfCurrent(statisticsLoads, statisticsToken, statistics, views.statistics);
+                setIfCurrent(allMessagesLoads, allToken, messageColumns, views.columns);
+                setIfCurrent(allMessagesLoads, allToken, allMessages, views.allMessages);
+                setIfCurrent(inboxMessagesLoads, inboxToken, inboxMessages, views.inboxMessages);
+                setIfCurrent(spamMessagesLoads, spamToken, spamMessages, views.spamMessages);
+            };
+            
+        } catch (Exception e) {
+            postError("Failed to refresh messages: " + e.getMessage());
+            return null;
+        } finally {
+            setLoading(false);
+        }
     }
 
     private void setLoading(boolean loading) {
@@ -220,8 +320,26 @@ public class SmsRepository {
         mainHandler.post(() -> errorMessage.setValue(error));
     }
 
-    private <T> void postResult(MutableLiveData<T> liveData, T result) {
-        mainHandler.post(() -> liveData.setValue(result));
+    /**
+     * Post a load result unless a newer load for the same LiveData has begun,
+     * checked both before posting and again on the main thread
+     */
+    private <T> void postResult(LoadGeneration loads, LoadGeneration.Token token,
+                                MutableLiveData<T> liveData, T result) {
+        if (!loads.isCurrent(token)) {
+            loads.discarded();
+            return;
+        }
+        mainHandler.post(() -> setIfCurrent(loads, token, liveData, result));
+    }
+
+    private <T> void setIfCurrent(LoadGeneration loads, LoadGeneration.Token token,
+                                  MutableLiveData<T> liveData, T result) {
+        if (loads.isCurrent(token)) {
+            liveData.setValue(result);
+        } else {
+            loads.discarded();
+        }
     }
 
     private <T> void postCallback(RepositoryCallback<T> callback, T result) {
@@ -235,340 +353,188 @@ public class SmsRepository {
     // Callback interface for progress updates during bulk operations
     public interface BulkOperationCallback {
         void onProgress(int current, int total);
+        
+        /**
+         * Throttled progress with the current rate; etaMillis is -1 until a rate is known.
+         * Delivered on the main thread.
+         */
+        default void onProgress(int current, int total, double messagesPerSecond, long etaMillis) {
+            onProgress(current, total);
+        }
+        
         void onCompleted(int deletedCount);
         void onError(String error);
     }
     
+    /**
+     * Rows per provider delete call for bulk operations
+     */
+    public void setDeleteChunkSize(int chunkSize) {
+        deleteChunkSize = chunkSize;
+    }
+    
+    /**
+     * Upper bound on progress callbacks per second for bulk operations
+     */
+    public void setProgressUpdatesPerSecond(int updatesPerSecond) {
+        progressUpdatesPerSecond = updatesPerSecond;
+    }
+    
     // Basic bulk delete operations
     public void deleteAllMessages(BulkOperationCallback callback) {
-        executor.execute(() -> {
-            try {
-                setLoading(true);
-                clearError();
-                
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                int total = allMessages.size();
-                int deletedCount = 0;
-                
-                for (int i = 0; i < allMessages.size(); i++) {
-                    SmsMessage message = allMessages.get(i);
-                    boolean success = SmsHelper.deleteMessage(context, message.id);
-                    
-                    if (success) {
-                        deletedCount++;
-                    }
-                    
-                    // Update progress every 10 messages or on last message
-                    if (i % 10 == 0 || i == allMessages.size() - 1) {
-                        final int current = i + 1;
-                        final int deleted = deletedCount;
-                        mainHandler.post(() -> {
-                            if (callback != null) {
-                                callback.onProgress(current, total);
-                            }
-                        });
-                    }
-                }
-                
-                final int finalDeletedCount = deletedCount;
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    if (callback != null) {
-                        callback.onCompleted(finalDeletedCount);
-                    }
-                    refreshAllData();
-                });
-                
-            } catch (Exception e) {
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    String error = "Tüm mesajları silme hatası: " + e.getMessage();
-                    postError(error);
-                    if (callback != null) {
-                        callback.onError(error);
-                    }
-                });
-            }
-        });
+        runBulkDelete("Tüm mesajları silme hatası: ", callback, inbox());
     }
     
     public void deleteAllSpamMessages(BulkOperationCallback callback) {
-        executor.execute(() -> {
-            try {
-                setLoading(true);
-                clearError();
-                
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                List<SmsMessage> spamMessages = new ArrayList<>();
-                
-                // Filter spam messages
-                for (SmsMessage message : allMessages) {
-                    if (message.isSpam) {
-                        spamMessages.add(message);
-                    }
-                }
-                
-                int total = spamMessages.size();
-                int deletedCount = 0;
-                
-                for (int i = 0; i < spamMessages.size(); i++) {
-                    SmsMessage message = spamMessages.get(i);
-                    boolean success = SmsHelper.deleteMessage(context, message.id);
-                    
-                    if (success) {
-                        deletedCount++;
-                    }
-                    
-                    if (i % 5 == 0 || i == spamMessages.size() - 1) {
-                        final int current = i + 1;
-                        final int deleted = deletedCount;
-                        mainHandler.post(() -> {
-                            if (callback != null) {
-                                callback.onProgress(current, total);
-                            }
-                        });
-                    }
-                }
-                
-                final int finalDeletedCount = deletedCount;
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    if (callback != null) {
-                        callback.onCompleted(finalDeletedCount);
-                    }
-                    refreshAllData();
-                });
-                
-            } catch (Exception e) {
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    String error = "Spam mesajları silme hatası: " + e.getMessage();
-                    postError(error);
-                    if (callback != null) {
-                        callback.onError(error);
-                    }
-                });
-            }
-        });
+        runBulkDelete("Spam mesajları silme hatası: ", callback, inbox().spam(true));
     }
     
     public void deleteAllNormalMessages(BulkOperationCallback callback) {
-        executor.execute(() -> {
-            try {
-                setLoading(true);
-                clearError();
-                
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                List<SmsMessage> normalMessages = new ArrayList<>();
-                
-                // Filter normal (non-spam) messages
-                for (SmsMessage message : allMessages) {
-                    if (!message.isSpam) {
-                        normalMessages.add(message);
-                    }
-                }
-                
-                int total = normalMessages.size();
-                int deletedCount = 0;
-                
-                for (int i = 0; i < normalMessages.size(); i++) {
-                    SmsMessage message = normalMessages.get(i);
-                    boolean success = SmsHelper.deleteMessage(context, message.id);
-                    
-                    if (success) {
-                        deletedCount++;
-                    }
-                    
-                    if (i % 5 == 0 || i == normalMessages.size() - 1) {
-                        final int current = i + 1;
-                        final int deleted = deletedCount;
-                        mainHandler.post(() -> {
-                            if (callback != null) {
-                                callback.onProgress(current, total);
-                            }
-                        });
-                    }
-                }
-                
-                final int finalDeletedCount = deletedCount;
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    if (callback != null) {
-                        callback.onCompleted(finalDeletedCount);
-                    }
-                    refreshAllData();
-                });
-                
-            } catch (Exception e) {
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    String error = "Normal mesajları silme hatası: " + e.getMessage();
-                    postError(error);
-                    if (callback != null) {
-                        callback.onError(error);
-                    }
-                });
-            }
-        });
+        runBulkDelete("Normal mesajları silme hatası: ", callback, inbox().spam(false));
     }
     
     // Advanced bulk delete operations
     public void deleteMessagesBySender(String phoneNumber, BulkOperationCallback callback) {
-        executor.execute(() -> {
-            try {
-                setLoading(true);
-                clearError();
-                
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                List<SmsMessage> senderMessages = new ArrayList<>();
-                
-                // Filter messages from specific sender
-                for (SmsMessage message : allMessages) {
-                    if (phoneNumber.equals(message.address)) {
-                        senderMessages.add(message);
-                    }
-                }
-                
-                int total = senderMessages.size();
-                int deletedCount = 0;
-                
-                for (int i = 0; i < senderMessages.size(); i++) {
-                    SmsMessage message = senderMessages.get(i);
-                    boolean success = SmsHelper.deleteMessage(context, message.id);
-                    
-                    if (success) {
-                        deletedCount++;
-                    }
-                    
-                    if (i % 3 == 0 || i == senderMessages.size() - 1) {
-                        final int current = i + 1;
-                        final int deleted = deletedCount;
-                        mainHandler.post(() -> {
-                            if (callback != null) {
-                                callback.onProgress(current, total);
-                            }
-                        });
-                    }
-                }
-                
-                final int finalDeletedCount = deletedCount;
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    if (callback != null) {
-                        callback.onCompleted(finalDeletedCount);
-                    }
-                    refreshAllData();
-                });
-                
-            } catch (Exception e) {
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    String error = "Gönderici bazlı silme hatası: " + e.getMessage();
-                    postError(error);
-                    if (callback != null) {
-                        callback.onError(error);
-                    }
-                });
-            }
-        });
+        runBulkDelete("Gönderici bazlı silme hatası: ", callback, inbox().sender(phoneNumber));
     }
     
     public void deleteMessagesByDateRange(long startDate, long endDate, BulkOperationCallback callback) {
+        runBulkDelete("Tarih aralığı silme hatası: ", callback, inbox().dateRange(startDate, endDate));
+    }
+    
+    public void deleteMessagesByDateRangeAndType(long startDate, long endDate, boolean isSpam, BulkOperationCallback callback) {
+        runBulkDelete("Kombinasyon silme hatası: ", callback, inbox().dateRange(startDate, endDate).spam(isSpam));
+    }
+    
+    // Bulk operations cover the same rows the app lists: the inbox
+    private static SmsSelection inbox() {
+        return SmsSelection.all().type(SmsSelection.TYPE_INBOX);
+    }
+    
+    /**
+     * Snapshot the ids matching the filter into the bulk delete journal, then run the job
+     */
+    private void runBulkDelete(String errorPrefix, BulkOperationCallback callback, SmsSelection filter) {
+        runBulkJob(errorPrefix, callback, () -> {
+            long[] ids = SmsHelper.getMessageIds(context, filter);
+            return BulkDeleteJournal.getInstance(context).start(filter.toString(), ids);
+        });
+    }
+    
+    /**
+     * True if a bulk delete was cancelled or interrupted (e.g. the process died)
+     * and can be continued with resumeBulkDelete
+     */
+    public boolean hasPendingBulkDelete() {
+        return getPendingBulkDeleteCount() > 0;
+    }
+    
+    /**
+     * Messages left in the pending bulk delete; 0 if there is none or a job is running
+     */
+    public synchronized int getPendingBulkDeleteCount() {
+        if (bulkJobSignal != null) {
+            return 0;
+        }
+        return BulkDeleteJournal.getInstance(context).getPendingRemaining();
+    }
+    
+    /**
+     * Continue the pending bulk delete from its last checkpoint
+     */
+    public void resumeBulkDelete(BulkOperationCallback callback) {
+        runBulkJob("Toplu silmeye devam etme hatası: ", callback,
+                () -> BulkDeleteJournal.getInstance(context).loadPendingJob());
+    }
+    
+    /**
+     * Stop the running bulk delete after its current chunk; it stays resumable
+     */
+    public synchronized void cancelBulkDelete() {
+        if (bulkJobSignal != null) {
+            bulkJobSignal.cancel();
+        }
+    }
+    
+    /**
+     * Drop the pending bulk delete; a job that is running is left alone
+     */
+    public void discardPendingBulkDelete() {
         executor.execute(() -> {
+            CancellationSignal signal = beginBulkJob();
+            if (signal == null) {
+                return;
+            }
             try {
-                setLoading(true);
-                clearError();
-                
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                List<SmsMessage> dateRangeMessages = new ArrayList<>();
-                
-                // Filter messages by date range
-                for (SmsMessage message : allMessages) {
-                    if (message.date >= startDate && message.date <= endDate) {
-                        dateRangeMessages.add(message);
-                    }
-                }
-                
-                int total = dateRangeMessages.size();
-                int deletedCount = 0;
-                
-                for (int i = 0; i < dateRangeMessages.size(); i++) {
-                    SmsMessage message = dateRangeMessages.get(i);
-                    boolean success = SmsHelper.deleteMessage(context, message.id);
-                    
-                    if (success) {
-                        deletedCount++;
-                    }
-                    
-                    if (i % 5 == 0 || i == dateRangeMessages.size() - 1) {
-                        final int current = i + 1;
-                        final int deleted = deletedCount;
-                        mainHandler.post(() -> {
-                            if (callback != null) {
-                                callback.onProgress(current, total);
-                            }
-                        });
-                    }
-                }
-                
-                final int finalDeletedCount = deletedCount;
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    if (callback != null) {
-                        callback.onCompleted(finalDeletedCount);
-                    }
-                    refreshAllData();
-                });
-                
-            } catch (Exception e) {
-                mainHandler.post(() -> {
-                    setLoading(false);
-                    String error = "Tarih aralığı silme hatası: " + e.getMessage();
-                    postError(error);
-                    if (callback != null) {
-                        callback.onError(error);
-                    }
-                });
+                BulkDeleteJournal.getInstance(context).finish();
+            } finally {
+                endBulkJob();
             }
         });
     }
     
-    public void deleteMessagesByDateRangeAndType(long startDate, long endDate, boolean isSpam, BulkOperationCallback callback) {
+    // Opens the job to run: a new snapshot or the pending one; runs on the executor
+    private interface JobSource {
+        BulkDeleteJournal.Job open() throws IOException;
+    }
+    
+    /**
+     * Shared bulk delete engine: delete the job's ids in chunks from its checkpoint,
+     * checkpointing and reporting progress after every chunk, then report completion
+     * and refresh. Cancelled or failed jobs keep their checkpoint for resumeBulkDelete.
+     */
+    private void runBulkJob(String errorPrefix, BulkOperationCallback callback, JobSource source) {
+        if (!PermissionHelper.isDefaultSmsApp(context)) {
+            // The provider would accept the deletes and remove nothing
+            mainHandler.post(() -> {
+                if (callback != null) {
+                    callback.onError("SMS silmek için uygulama varsayılan SMS uygulaması olmalı");
+                }
+            });
+            return;
+        }
+
+        CancellationSignal signal = beginBulkJob();
+        if (signal == null) {
+            mainHandler.post(() -> {
+                if (callback != null) {
+                    callback.onError("Başka bir toplu silme işlemi sürüyor");
+                }
+            });
+            return;
+        }
+        
         executor.execute(() -> {
             try {
                 setLoading(true);
                 clearError();
                 
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                List<SmsMessage> filteredMessages = new ArrayList<>();
-                
-                // Filter messages by date range and type
-                for (SmsMessage message : allMessages) {
-                    if (message.date >= startDate && message.date <= endDate && message.isSpam == isSpam) {
-                        filteredMessages.add(message);
-                    }
-                }
-                
-                int total = filteredMessages.size();
+                BulkDeleteJournal journal = BulkDeleteJournal.getInstance(context);
+                BulkDeleteJournal.Job job = source.open();
                 int deletedCount = 0;
                 
-                for (int i = 0; i < filteredMessages.size(); i++) {
-                    SmsMessage message = filteredMessages.get(i);
-                    boolean success = SmsHelper.deleteMessage(context, message.id);
+                if (job != null) {
+                    ProgressReporter progress = new ProgressReporter(mainHandler, callback,
+                            progressUpdatesPerSecond, job.position);
+                    BatchSmsDeleter deleter = new BatchSmsDeleter(context).setChunkSize(deleteChunkSize);
+                    deletedCount = job.deleted + deleter.delete(job.ids, job.position, (processed, total, deleted) -> {
+                        journal.checkpoint(processed, job.deleted + deleted);
+                        progress.report(processed, total);
+                    }, signal);
+                    // Completion or the stop notice supersedes any pending update
+                    progress.cancel();
                     
-                    if (success) {
-                        deletedCount++;
-                    }
-                    
-                    if (i % 5 == 0 || i == filteredMessages.size() - 1) {
-                        final int current = i + 1;
-                        final int deleted = deletedCount;
+                    if (signal.isCanceled()) {
                         mainHandler.post(() -> {
+                            setLoading(false);
                             if (callback != null) {
-                                callback.onProgress(current, total);
+                                callback.onError("Toplu silme durduruldu; kaldığı yerden devam ettirilebilir");
                             }
+                            refreshAllData();
                         });
+                        return;
                     }
+                    journal.finish();
                 }
                 
                 final int finalDeletedCount = deletedCount;
@@ -583,16 +549,31 @@ public class SmsRepository {
             } catch (Exception e) {
                 mainHandler.post(() -> {
                     setLoading(false);
-                    String error = "Kombinasyon silme hatası: " + e.getMessage();
+                    String error = errorPrefix + e.getMessage();
                     postError(error);
                     if (callback != null) {
                         callback.onError(error);
                     }
                 });
+            } finally {
+                endBulkJob();
             }
         });
     }
     
+    // One bulk job at a time; returns null if one is already running
+    private synchronized CancellationSignal beginBulkJob() {
+        if (bulkJobSignal != null) {
+            return null;
+        }
+        bulkJobSignal = new CancellationSignal();
+        return bulkJobSignal;
+    }
+    
+    private synchronized void endBulkJob() {
+        bulkJobSignal = null;
+    }
+    
     // Statistics methods for bulk operations
     public void getMessageCountByType(boolean isSpam, RepositoryCallback<Integer> callback) {
         executor.execute(() -> {
@@ -601,17 +582,7 @@ public class SmsRepository {
             android.util.Log.d("PERFORMANCE", "🔍 getMessageCountByType(" + isSpam + ") started");
             
             try {
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                android.util.Log.d("PERFORMANCE", "📱 SmsHelper.getAllMessages() took: " + (System.currentTimeMillis() - startTime) + "ms");
-                int count = 0;
-                
-                for (SmsMessage message : allMessages) {
-                    if (message.isSpam == isSpam) {
-                        count++;
-                    }
-                }
-                
-                final int finalCount = count;
+                final int finalCount = SmsHelper.countMessages(context, inbox().spam(isSpam));
                 // PERFORMANCE: Log total query time
                 long totalTime = System.currentTimeMillis() - startTime;
                 android.util.Log.d("PERFORMANCE", "⚡ getMessageCountByType(" + isSpam + ") TOTAL: " + totalTime + "ms, found: " + finalCount);
@@ -634,18 +605,17 @@ public class SmsRepository {
     }
     
     public void getMessageCountBySender(String phoneNumber, RepositoryCallback<Integer> callback) {
+        countMessages(inbox().sender(phoneNumber), callback);
+    }
+    
+    public void getMessageCountByDateRange(long startDate, long endDate, RepositoryCallback<Integer> callback) {
+        countMessages(inbox().dateRange(startDate, endDate), callback);
+    }
+    
+    private void countMessages(SmsSelection filter, RepositoryCallback<Integer> callback) {
         executor.execute(() -> {
             try {
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                int count = 0;
-                
-                for (SmsMessage message : allMessages) {
-                    if (phoneNumber.equals(message.address)) {
-                        count++;
-                    }
-                }
-                
-                final int finalCount = count;
+                final int finalCount = SmsHelper.countMessages(context, filter);
                 mainHandler.post(() -> {
                     if (callback != null) {
                         callback.onResult(finalCount);
@@ -662,31 +632,15 @@ public class SmsRepository {
         });
     }
     
-    public void getMessageCountByDateRange(long startDate, long endDate, RepositoryCallback<Integer> callback) {
+    public void searchMessages(String query, RepositoryCallback<List<SmsMessage>> callback) {
         executor.execute(() -> {
             try {
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                int count = 0;
-                
-                for (SmsMessage message : allMessages) {
-                    if (message.date >= startDate && message.date <= endDate) {
-                        count++;
-                    }
-                }
-                
-                final int finalCount = count;
-                mainHandler.post(() -> {
-                    if (callback != null) {
-                        callback.onResult(finalCount);
-                    }
-                });
+                List<SmsMessage> results = SmsHelper.searchMessages(context, query, SEARCH_RESULTS_LIMIT);
+                postCallback(callback, results);
                 
             } catch (Exception e) {
-                mainHandler.post(() -> {
-                    if (callback != null) {
-                        callback.onResult(0);
-                    }
-                });
+                postError("Search failed: " + e.getMessage());
+                postCallback(callback, new ArrayList<>());
             }
         });
     }
@@ -694,32 +648,21 @@ public class SmsRepository {
     public void getFrequentSenders(RepositoryCallback<List<SenderInfo>> callback) {
         executor.execute(() -> {
             try {
-                List<SmsMessage> allMessages = SmsHelper.getAllMessages(context);
-                Map<String, SenderInfo> senderMap = new HashMap<>();
-                
-                // Count messages per sender
-                for (SmsMessage message : allMessages) {
-                    String sender = message.address != null ? message.address : "Unknown";
-                    SenderInfo info = senderMap.get(sender);
-                    
-                    if (info == null) {
-                        info = new SenderInfo(sender, 0, 0);
-                        senderMap.put(sender, info);
-                    }
-                    
-                    info.totalCount++;
-                    if (message.isSpam) {
-                        info.spamCount++;
-                    }
-                }
-                
-                // Convert to sorted list
-                List<SenderInfo> senderList = new ArrayList<>(senderMap.values());
-                Collections.sort(senderList, (a, b) -> Integer.compare(b.totalCount, a.totalCount));
-                
-                // Limit to top 20 senders
-                if (senderList.size() > 20) {
-                    senderList = senderList.subList(0, 20);
+                // The refresh keeps the sender counters current; only the top entries are read
+                MessageColumns columns = SmsHelper.getMessageColumns(context);
+                AddressPool addresses = columns.getAddressPool();
+                List<SenderStats.Entry> top = columns.size() > 0
+                        ? IncrementalSmsScanner.getInstance(context).getSenderStats().top(FREQUENT_SENDERS_LIMIT)
+                        : Collections.emptyList();
+                
+                List<SenderInfo> senderList = new ArrayList<>();
+                for (SenderStats.Entry entry : top) {
+                    // Show the sender as the provider spells it ("Turkcell", not the
+                    // upper-cased id); deleting by it still matches every spelling
+                    String[] spellings = addresses.spellings(entry.addressId);
+                    String address = spellings.length > 0 ? spellings[0] : addresses.get(entry.addressId);
+                    senderList.add(new SenderInfo(address.isEmpty() ? "Unknown" : address,
+                            entry.totalCount, entry.spamCount));
                 }
                 
                 final List<SenderInfo> finalList = senderList;
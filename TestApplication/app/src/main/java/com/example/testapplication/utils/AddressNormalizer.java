@@ -0,0 +1,104 @@
+package com.example.testapplication.utils;
+
+import java.util.Locale;
+
+/**
+ * Canonical form of SMS sender addresses, so +905321234567, 05321234567 and
+ * 5321234567 are one sender. Phone numbers become E.164 ("+" country code and
+ * national number) using the home country's rule for numbers written without a
+ * country code; alphanumeric sender ids are upper-cased and short codes are kept as
+ * plain digits.
+ */
+public final class AddressNormalizer {
+
+    /**
+     * How numbers of a country are written locally
+     */
+    public static final class CountryRule {
+        public final String countryCode;
+        // Dialled before the national number inside the country, e.g. "0"
+        public final String trunkPrefix;
+        public final int nationalLength;
+
+        public CountryRule(String countryCode, String trunkPrefix, int nationalLength) {
+            this.countryCode = countryCode;
+            this.trunkPrefix = trunkPrefix;
+            this.nationalLength = nationalLength;
+        }
+    }
+
+    public static final CountryRule TURKEY = new CountryRule("90", "0", 10);
+
+    private static final AddressNormalizer DEFAULT = new AddressNormalizer(TURKEY);
+
+    private final CountryRule home;
+
+    public AddressNormalizer(CountryRule home) {
+        this.home = home;
+    }
+
+    public static AddressNormalizer getDefault() {
+        return DEFAULT;
+    }
+
+    public String normalize(String address) {
+        if (address == null) {
+            return "";
+        }
+        String trimmed = address.trim();
+
+        StringBuilder digits = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (Character.isLetter(c)) {
+                // Alphanumeric sender id (bank, operator)
+                return trimmed.toUpperCase(Locale.ROOT);
+            }
+        }
+        if (digits.length() == 0) {
+            return trimmed;
+        }
+
+        String number = digits.toString();
+        if (trimmed.startsWith("+")) {
+            return "+" + number;
+        }
+        if (number.startsWith("00")) {
+            return "+" + number.substring(2);
+        }
+        if (number.length() == home.trunkPrefix.length() + home.nationalLength
+                && number.startsWith(home.trunkPrefix)) {
+            return "+" + home.countryCode + number.substring(home.trunkPrefix.length());
+        }
+        if (number.length() == home.nationalLength) {
+            return "+" + home.countryCode + number;
+        }
+        if (number.length() == home.countryCode.length() + home.nationalLength
+                && number.startsWith(home.countryCode)) {
+            return "+" + number;
+        }
+        // Short codes and foreign numbers without a prefix
+        return number;
+    }
+
+    /**
+     * The ways a home-country number is commonly stored by the provider, for matching
+     * raw address columns; other addresses have only their canonical form
+     */
+    public String[] variants(String address) {
+        String canonical = normalize(address);
+        String prefix = "+" + home.countryCode;
+        if (!canonical.startsWith(prefix) || canonical.length() != prefix.length() + home.nationalLength) {
+            return new String[]{canonical};
+        }
+        String national = canonical.substring(prefix.length());
+        return new String[]{
+                canonical,
+                home.countryCode + national,
+                home.trunkPrefix + national,
+                national
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.testapplication.utils;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.net.Uri;
+import android.os.CancellationSignal;
+import android.util.Log;
+
+import com.example.testapplication.data.VerdictStore;
+
+import java.util.Arrays;
+
+/**
+ * Deletes SMS rows in chunks with one "_id IN (...)" provider call per chunk instead of
+ * one call per message. Chunk size is tunable; progress is reported after every chunk.
+ * Only the default SMS app may delete; otherwise the provider silently deletes nothing,
+ * so that is checked before any chunk is sent.
+ */
+public final class BatchSmsDeleter {
+    private static final String TAG = "BatchSmsDeleter";
+
+    private static final Uri SMS_URI = Uri.parse("content://sms");
+
+    public static final int DEFAULT_CHUNK_SIZE = 200;
+    // SQLite allows 999 bound variables per statement
+    public static final int MAX_CHUNK_SIZE = 900;
+
+    public interface ChunkListener {
+        /**
+         * @param processed ids handled so far, including this chunk
+         * @param total     ids requested
+         * @param deleted   rows actually deleted so far
+         */
+        void onChunkDeleted(int processed, int total, int deleted);
+    }
+
+    private final Context context;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    public BatchSmsDeleter(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public BatchSmsDeleter setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        return this;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Delete the given ids; returns the number of rows the provider deleted
+     */
+    public int delete(long[] messageIds, ChunkListener listener) {
+        return delete(messageIds, 0, listener, null);
+    }
+
+    /**
+     * Delete messageIds[fromIndex..] chunk by chunk, stopping between chunks once the
+     * signal is cancelled. Progress reports absolute positions in messageIds; the
+     * returned and reported deleted counts cover this call only.
+     */
+    public int delete(long[] messageIds, int fromIndex, ChunkListener listener, CancellationSignal signal) {
+        if (!PermissionHelper.hasSmsPermissions(context)) {
+            Log.w(TAG, "SMS permissions not granted for bulk deletion");
+            return 0;
+        }
+        if (!PermissionHelper.isDefaultSmsApp(context)) {
+            Log.e(TAG, "Bulk delete failed: App must be default SMS app for deletion");
+            return 0;
+        }
+
+        ContentResolver resolver = context.getContentResolver();
+        VerdictStore verdictStore = VerdictStore.getInstance(context);
+        int total = messageIds.length;
+        int deletedCount = 0;
+
+        for (int start = fromIndex; start < total; start += chunkSize) {
+            if (signal != null && signal.isCanceled()) {
+                Log.d(TAG, "Batch delete cancelled at " + start + " of " + total);
+                break;
+            }
+            int end = Math.min(start + chunkSize, total);
+            deletedCount += deleteChunk(resolver, messageIds, start, end);
+
+            // Ids the provider kept are re-added by the next index sync
+            verdictStore.removeAll(Arrays.copyOfRange(messageIds, start, end));
+
+            if (listener != null) {
+                listener.onChunkDeleted(end, total, deletedCount);
+            }
+        }
+
+        Log.d(TAG, "Batch deleted " + deletedCount + " out of " + (total - fromIndex) + " messages");
+        return deletedCount;
+    }
+
+    private int deleteChunk(ContentResolver resolver, long[] messageIds, int start, int end) {
+        StringBuilder selection = new StringBuilder("_id IN (");
+        String[] selectionArgs = new String[end - start];
+        for (int i = start; i < end; i++) {
+            selection.append(i == start ? "?" : ",?");
+            selectionArgs[i - start] = String.valueOf(messageIds[i]);
+        }
+        selection.append(')');
+
+        try {
+            return resolver.delete(SMS_URI, selection.toString(), selectionArgs);
+        } catch (SecurityException e) {
+            Log.e(TAG, "Security exception deleting SMS chunk: " + e.getMessage());
+            return 0;
+        } catch (Exception e) {
+            // Fall back to per-row deletes so one bad chunk does not stop the job
+            Log.w(TAG, "Chunk delete failed, retrying row by row: " + e.getMessage());
+            int deleted = 0;
+            for (int i = start; i < end; i++) {
+                try {
+                    deleted += resolver.delete(Uri.parse("content://sms/" + messageIds[i]), null, null);
+                } catch (Exception rowError) {
+                    Log.e(TAG, "Error deleting message ID " + messageIds[i] + ": " + rowError.getMessage());
+                }
+            }
+            return deleted;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.testapplication.utils;
+
+import android.content.Context;
+import android.database.ContentObserver;
+import android.database.Cursor;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.ContactsContract;
+import android.util.Log;
+
+import com.example.testapplication.data.AddressPool;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Resolves sender addresses to contact names without blocking the caller.
+ * All phone numbers are preloaded with a single Phone query into a map keyed by the
+ * sender's id in the shared AddressPool, so every spelling of a number hits the same
+ * entry; misses after a complete preload are simply not contacts. When
+ * the contacts exceed the bound, the rest are looked up one by one in the background.
+ * The map is bounded (LRU) and is dropped and reloaded whenever contacts change.
+ * Listeners are told on the main thread when names become available.
+ */
+public class ContactResolver {
+    private static final String TAG = "ContactResolver";
+
+    // Resolved names kept in memory, preloaded and looked up together
+    public static final int MAX_NAMES = 4096;
+
+    public interface Listener {
+        void onContactNamesChanged();
+    }
+
+    private static ContactResolver instance;
+    private final Context context;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AddressPool addresses = AddressPool.shared();
+
+    // Address id -> display name; "" for numbers known not to be contacts
+    private final Map<Integer, String> names = new LinkedHashMap<Integer, String>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > MAX_NAMES;
+        }
+    };
+    private final Set<Integer> pendingLookups = new HashSet<>();
+    // Bumped on every invalidation so results of an older load are dropped
+    private long version;
+    private boolean preloadStarted;
+    private boolean preloadComplete;
+    // More contacts than MAX_NAMES: misses may still be contacts
+    private boolean truncated;
+    private boolean observerRegistered;
+
+    private ContactResolver(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized ContactResolver getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContactResolver(context);
+        }
+        return instance;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Name to show for the address if it is known now, or null while it is being
+     * resolved; listeners are notified once it is
+     */
+    public String peekName(String address) {
+        if (address == null || address.trim().isEmpty()) {
+            return "Bilinmeyen";
+        }
+        String number = address.trim();
+        if (!ContactsHelper.hasContactsPermission(context)) {
+            return number;
+        }
+
+        int key = addresses.intern(number);
+        synchronized (this) {
+            String name = names.get(key);
+            if (name != null) {
+                return name.isEmpty() ? number : name;
+            }
+            ensurePreload();
+            if (!preloadComplete) {
+                return null;
+            }
+            if (!truncated) {
+                return number;
+            }
+            // The contact may have been left out of the preload, look it up alone
+            if (pendingLookups.add(key)) {
+                long lookupVersion = version;
+                executor.execute(() -> lookupAsync(key, number, lookupVersion));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Blocking lookup for background callers
+     */
+    public String getName(String address) {
+        String name = peekName(address);
+        if (name != null) {
+            return name;
+        }
+
+        String number = address.trim();
+        int key = addresses.intern(number);
+        String found = lookupContactName(number);
+        synchronized (this) {
+            names.put(key, found != null ? found : "");
+        }
+        return found != null ? found : number;
+    }
+
+    /**
+     * Forget every resolved name and preload again on the next lookup
+     */
+    public synchronized void invalidate() {
+        version++;
+        names.clear();
+        pendingLookups.clear();
+        preloadStarted = false;
+        preloadComplete = false;
+        truncated = false;
+    }
+
+    public synchronized int size() {
+        return names.size();
+    }
+
+    // Called with the lock held
+    private void ensurePreload() {
+        if (preloadStarted) {
+            return;
+        }
+        preloadStarted = true;
+        registerObserver();
+        long preloadVersion = version;
+        executor.execute(() -> preload(preloadVersion));
+    }
+
+    private void preload(long preloadVersion) {
+        Map<Integer, String> loaded = new HashMap<>();
+        boolean overflow = false;
+        String[] projection = {
+            ContactsContract.CommonDataKinds.Phone.NUMBER,
+            ContactsContract.CommonDataKinds.Phone.DISPLAY_NAME
+        };
+
+        try (Cursor cursor = context.getContentResolver().query(
+                ContactsContract.CommonDataKinds.Phone.CONTENT_URI, projection, null, null, null)) {
+            if (cursor != null) {
+                while (cursor.moveToNext()) {
+                    String number = cursor.getString(0);
+                    String name = cursor.getString(1);
+                    if (number == null || name == null || name.trim().isEmpty()) {
+                        continue;
+                    }
+                    if (loaded.size() == MAX_NAMES) {
+                        overflow = true;
+                        break;
+                    }
+                    loaded.put(addresses.intern(number), name);
+                }
+            }
+        } catch (SecurityException e) {
+            Log.e(TAG, "Security exception preloading contacts", e);
+        } catch (Exception e) {
+            Log.e(TAG, "Error preloading contacts", e);
+        }
+
+        synchronized (this) {
+            if (preloadVersion != version) {
+                return;
+            }
+            names.putAll(loaded);
+            truncated = overflow;
+            preloadComplete = true;
+        }
+        Log.d(TAG, "Preloaded " + loaded.size() + " contact numbers" + (overflow ? " (truncated)" : ""));
+        notifyListeners();
+    }
+
+    private void lookupAsync(int key, String number, long lookupVersion) {
+        String found = lookupContactName(number);
+        synchronized (this) {
+            pendingLookups.remove(key);
+            if (lookupVersion != version) {
+                return;
+            }
+            names.put(key, found != null ? found : "");
+        }
+        if (found != null) {
+            notifyListeners();
+        }
+    }
+
+    private String lookupContactName(String phoneNumber) {
+        Uri uri = Uri.withAppendedPath(
+            ContactsContract.PhoneLookup.CONTENT_FILTER_URI,
+            Uri.encode(phoneNumber)
+        );
+
+        String[] projection = {ContactsContract.PhoneLookup.DISPLAY_NAME};
+
+        try (Cursor cursor = context.getContentResolver().query(uri, projection, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst()) {
+                String name = cursor.getString(0);
+                if (name != null && !name.trim().isEmpty()) {
+                    return name;
+                }
+            }
+        } catch (SecurityException e) {
+            Log.e(TAG, "Security exception looking up contact for " + phoneNumber, e);
+        } catch (Exception e) {
+            Log.e(TAG, "Error looking up contact for " + phoneNumber, e);
+        }
+        return null;
+    }
+
+    // Called with the lock held
+    private void registerObserver() {
+        if (observerRegistered) {
+            return;
+        }
+        try {
+            context.getContentResolver().registerContentObserver(
+                ContactsContract.Contacts.CONTENT_URI, true,
+                new ContentObserver(mainHandler) {
+                    @Override
+                    public void onChange(boolean selfChange) {
+                        Log.d(TAG, "Contacts changed, dropping resolved names");
+                        invalidate();
+                        notifyListeners();
+                    }
+                });
+            observerRegistered = true;
+        } catch (SecurityException e) {
+            Log.e(TAG, "Cannot observe contacts", e);
+        }
+    }
+
+    private void notifyListeners() {
+        mainHandler.post(() -> {
+            for (Listener listener : listeners) {
+                listener.onContactNamesChanged();
+            }
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.testapplication.utils;
+
+import java.util.Locale;
+
+/**
+ * Reusable buffer holding the Turkish lowercase of some text, readable as a CharSequence
+ * without copying. Matches String.toLowerCase(tr) exactly.
+ */
+final class FoldedText implements CharSequence {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    // Characters whose Turkish lowercase depends on their neighbours (final sigma,
+    // dotted I written as I + U+0307) or spans two chars; text containing them takes the String path
+    private static final char GREEK_CAPITAL_SIGMA = '\u03A3';
+    private static final char COMBINING_DOT_ABOVE = '\u0307';
+
+    private char[] chars;
+    private int length;
+
+    FoldedText(int initialCapacity) {
+        chars = new char[initialCapacity];
+    }
+
+    /**
+     * Buffer with room for at least the given number of chars, for callers that fold
+     * while doing their own pass over the text; finish with {@link #setLength(int)}
+     */
+    char[] buffer(int capacity) {
+        if (chars.length < capacity) {
+            chars = new char[Math.max(capacity, chars.length * 2)];
+        }
+        return chars;
+    }
+
+    void setLength(int length) {
+        this.length = length;
+    }
+
+    /**
+     * Fold text[from, to) into this buffer
+     */
+    void fold(CharSequence text, int from, int to) {
+        char[] buffer = buffer(to - from);
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (needsLocaleFallback(c)) {
+                foldWithLocale(text, from, to);
+                return;
+            }
+            buffer[i - from] = fold(c);
+        }
+        length = to - from;
+    }
+
+    /**
+     * Slow path: full String.toLowerCase for context-dependent characters
+     */
+    void foldWithLocale(CharSequence text, int from, int to) {
+        String folded = text.subSequence(from, to).toString().toLowerCase(TURKISH);
+        folded.getChars(0, folded.length(), buffer(folded.length()), 0);
+        length = folded.length();
+    }
+
+    static boolean needsLocaleFallback(char c) {
+        return c == GREEK_CAPITAL_SIGMA || c == COMBINING_DOT_ABOVE || Character.isSurrogate(c);
+    }
+
+    static char fold(char c) {
+        if (c == 'I') {
+            return 'ı';
+        }
+        if (c == 'İ') {
+            return 'i';
+        }
+        return Character.toLowerCase(c);
+    }
+
+    boolean contains(String needle) {
+        int last = length - needle.length();
+        for (int i = 0; i <= last; i++) {
+            int j = 0;
+            while (j < needle.length() && chars[i + j] == needle.charAt(j)) {
+                j++;
+            }
+            if (j == needle.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.testapplication.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over the spam keyword list.
+ * Finds every keyword occurring in a lowercased message body in a single pass,
+ * instead of one contains() scan per keyword. Instances are immutable and can be
+ * shared between threads; rebuild a new one when the keyword list changes.
+ */
+public final class KeywordAutomaton {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private final String[] keywords;
+    private final int[] keywordLengths;
+
+    // Flattened goto function: edges of state s are [edgeStart[s], edgeStart[s + 1]), sorted by char
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+
+    private final int[] fail;
+    // Nearest state on the failure chain that emits a keyword, or -1
+    private final int[] dictLink;
+    // Keywords ending exactly at state s: [outStart[s], outStart[s + 1])
+    private final int[] outStart;
+    private final int[] outKeywords;
+
+    /**
+     * Reusable holder for the keywords found in one message.
+     * Indices are distinct and sorted in keyword list order.
+     */
+    public static final class Hits {
+        private int[] indices = new int[8];
+        private int count;
+
+        public int count() {
+            return count;
+        }
+
+        public int get(int i) {
+            return indices[i];
+        }
+
+        public void clear() {
+            count = 0;
+        }
+
+        private void add(int keywordIndex) {
+            for (int i = 0; i < count; i++) {
+                if (indices[i] == keywordIndex) {
+                    return;
+                }
+            }
+            if (count == indices.length) {
+                indices = Arrays.copyOf(indices, count * 2);
+            }
+            indices[count++] = keywordIndex;
+        }
+    }
+
+    public KeywordAutomaton(List<String> keywordList) {
+        int size = keywordList.size();
+        keywords = new String[size];
+        keywordLengths = new int[size];
+
+        // Build the trie with hash maps first, then flatten it
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        trie.add(new HashMap<>());
+        outputs.add(new ArrayList<>());
+
+        for (int k = 0; k < size; k++) {
+            String keyword = keywordList.get(k);
+            String normalized = keyword.toLowerCase(TURKISH);
+            keywords[k] = keyword;
+            keywordLengths[k] = normalized.length();
+
+            if (normalized.isEmpty()) {
+                continue;
+            }
+
+            int state = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                char c = normalized.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    outputs.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.get(state).add(k);
+        }
+
+        int stateCount = trie.size();
+        edgeStart = new int[stateCount + 1];
+        int edgeCount = 0;
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s] = edgeCount;
+            edgeCount += trie.get(s).size();
+        }
+        edgeStart[stateCount] = edgeCount;
+
+        edgeChars = new char[edgeCount];
+        edgeTargets = new int[edgeCount];
+        for (int s = 0; s < stateCount; s++) {
+            Character[] chars = trie.get(s).keySet().toArray(new Character[0]);
+            Arrays.sort(chars);
+            int base = edgeStart[s];
+            for (int i = 0; i < chars.length; i++) {
+                edgeChars[base + i] = chars[i];
+                edgeTargets[base + i] = trie.get(s).get(chars[i]);
+            }
+        }
+
+        outStart = new int[stateCount + 1];
+        int outCount = 0;
+        for (int s = 0; s < stateCount; s++) {
+            outStart[s] = outCount;
+            outCount += outputs.get(s).size();
+        }
+        outStart[stateCount] = outCount;
+        outKeywords = new int[outCount];
+        for (int s = 0; s < stateCount; s++) {
+            List<Integer> out = outputs.get(s);
+            for (int i = 0; i < out.size(); i++) {
+                outKeywords[outStart[s] + i] = out.get(i);
+            }
+        }
+
+        // Breadth-first pass for failure and dictionary suffix links
+        fail = new int[stateCount];
+        dictLink = new int[stateCount];
+        Arrays.fill(dictLink, -1);
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            int child = edgeTargets[e];
+            fail[child] = 0;
+            queue[tail++] = child;
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                char c = edgeChars[e];
+                int child = edgeTargets[e];
+
+                int f = fail[state];
+                int target = step(f, c);
+                while (target < 0 && f != 0) {
+                    f = fail[f];
+                    target = step(f, c);
+                }
+                fail[child] = target >= 0 ? target : 0;
+
+                int failState = fail[child];
+                dictLink[child] = outStart[failState] < outStart[failState + 1]
+                        ? failState : dictLink[failState];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    /**
+     * Length of the normalized keyword; a hit of the same length as the text is an exact match
+     */
+    public int keywordLength(int index) {
+        return keywordLengths[index];
+    }
+
+    /**
+     * Scan an already lowercased text once and collect every keyword it contains.
+     */
+    public void findAll(CharSequence text, Hits hits) {
+        hits.clear();
+        int length = text.length();
+        int state = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int next = step(state, c);
+            while (next < 0 && state != 0) {
+                state = fail[state];
+                next = step(state, c);
+            }
+            state = next >= 0 ? next : 0;
+
+            for (int s = state; s > 0; s = dictLink[s]) {
+                for (int o = outStart[s]; o < outStart[s + 1]; o++) {
+                    hits.add(outKeywords[o]);
+                }
+            }
+        }
+
+        Arrays.sort(hits.indices, 0, hits.count);
+    }
+
+    private int step(int state, char c) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+}
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class KeywordManager {
     private static final String PREFS_NAME = "spam_keywords";
@@ -16,9 +17,13 @@ public class KeywordManager {
     private final SharedPreferences prefs;
     private final Set<String> customKeywords;
     
+    // Published rule snapshot; readers never lock, keyword edits swap in a new one
+    private final AtomicReference<SpamRuleSet> ruleSet = new AtomicReference<>();
+    
     private KeywordManager(Context context) {
         prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         customKeywords = new HashSet<>(prefs.getStringSet(KEY_CUSTOM_KEYWORDS, new HashSet<>()));
+        ruleSet.set(SpamRuleSet.compile(getAllKeywords()));
     }
     
     public static synchronized KeywordManager getInstance(Context context) {
@@ -28,18 +33,18 @@ public class KeywordManager {
         return instance;
     }
     
-    public List<String> getCustomKeywords() {
+    public synchronized List<String> getCustomKeywords() {
         return new ArrayList<>(customKeywords);
     }
     
-    public List<String> getAllKeywords() {
+    public synchronized List<String> getAllKeywords() {
         List<String> allKeywords = new ArrayList<>();
         allKeywords.addAll(SpamDetector.getDefaultKeywords());
         allKeywords.addAll(customKeywords);
         return allKeywords;
     }
     
-    public boolean addKeyword(String keyword) {
+    public synchronized boolean addKeyword(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return false;
         }
@@ -59,7 +64,7 @@ public class KeywordManager {
         return true;
     }
     
-    public boolean removeKeyword(String keyword) {
+    public synchronized boolean removeKeyword(String keyword) {
         String normalized = keyword.trim().toLowerCase(new java.util.Locale("tr", "TR"));
         
         if (customKeywords.remove(normalized)) {
@@ -69,18 +74,29 @@ public class KeywordManager {
         return false;
     }
     
-    public void clearCustomKeywords() {
+    public synchronized void clearCustomKeywords() {
         customKeywords.clear();
         saveKeywords();
     }
     
     private void saveKeywords() {
+        // Called under the instance lock, so snapshots are published in edit order
+        ruleSet.set(SpamRuleSet.compile(getAllKeywords()));
+        // Cached verdicts are keyed by rules version and can never hit again
+        SpamDetector.getVerdictCache().invalidateAll();
         prefs.edit()
              .putStringSet(KEY_CUSTOM_KEYWORDS, new HashSet<>(customKeywords))
              .apply();
     }
     
-    public int getCustomKeywordCount() {
+    /**
+     * Current compiled rule snapshot for default + custom keywords
+     */
+    public SpamRuleSet getRuleSet() {
+        return ruleSet.get();
+    }
+    
+    public synchronized int getCustomKeywordCount() {
         return customKeywords.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.example.testapplication.utils;
+
+/**
+ * Single pass over a message body that collects everything the scoring stages need:
+ * lengths, trimmed bounds, punctuation/uppercase/digit statistics and the
+ * Turkish-folded lowercase of the trimmed body. Reusable; call scan() per message.
+ */
+public final class MessageScan {
+
+    public int length;
+    public int trimStart;
+    public int trimEnd;
+    public int exclamationCount;
+    public int upperCount;
+    public int digitRunCount;
+    public int longestDigitRun;
+
+    private final FoldedText lower = new FoldedText(160);
+
+    public void scan(CharSequence body) {
+        length = body.length();
+        trimStart = 0;
+        trimEnd = 0;
+        exclamationCount = 0;
+        upperCount = 0;
+        digitRunCount = 0;
+        longestDigitRun = 0;
+        lower.setLength(0);
+
+        char[] folded = lower.buffer(length);
+        boolean seenNonSpace = false;
+        boolean needsLocaleFallback = false;
+        int digitRun = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = body.charAt(i);
+
+            // Same bounds as String.trim()
+            if (c > ' ') {
+                if (!seenNonSpace) {
+                    trimStart = i;
+                    seenNonSpace = true;
+                }
+                trimEnd = i + 1;
+            }
+
+            if (c == '!') {
+                exclamationCount++;
+            }
+            if (Character.isUpperCase(c)) {
+                upperCount++;
+            }
+
+            // Regex \d is ASCII only
+            if (c >= '0' && c <= '9') {
+                digitRun++;
+                if (digitRun == 1) {
+                    digitRunCount++;
+                }
+                if (digitRun > longestDigitRun) {
+                    longestDigitRun = digitRun;
+                }
+            } else {
+                digitRun = 0;
+            }
+
+            if (FoldedText.needsLocaleFallback(c)) {
+                needsLocaleFallback = true;
+            }
+            folded[i] = FoldedText.fold(c);
+        }
+
+        if (!seenNonSpace) {
+            return;
+        }
+
+        if (needsLocaleFallback) {
+            lower.foldWithLocale(body, trimStart, trimEnd);
+        } else {
+            System.arraycopy(folded, trimStart, folded, 0, trimEnd - trimStart);
+            lower.setLength(trimEnd - trimStart);
+        }
+    }
+
+    public int trimmedLength() {
+        return trimEnd - trimStart;
+    }
+
+    public boolean isBlank() {
+        return trimEnd == trimStart;
+    }
+
+    /**
+     * Turkish lowercase of the trimmed body; valid until the next scan()
+     */
+    public CharSequence lowerBody() {
+        return lower;
+    }
+
+    public boolean lowerContains(String needle) {
+        return lower.contains(needle);
+    }
+}
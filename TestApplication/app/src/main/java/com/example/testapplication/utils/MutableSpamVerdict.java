@@ -0,0 +1,117 @@
+package com.example.testapplication.utils;
+
+import java.util.regex.Matcher;
+
+/**
+ * Caller-owned result holder for {@link SpamDetector#analyzeInto}.
+ * Reuse one instance per scanning thread: analysis writes primitive fields and
+ * keeps its scratch buffers here, so scoring a message allocates nothing.
+ * Not thread-safe.
+ */
+public final class MutableSpamVerdict {
+
+    // flags
+    public static final int FLAG_SPAM = 1;
+    public static final int FLAG_EMPTY = 1 << 1;
+
+    // reasonMask bits, in the order the reasons are reported
+    public static final int REASON_EXACT_KEYWORD = 1;
+    public static final int REASON_KEYWORD = 1 << 1;
+    public static final int REASON_MULTIPLE_KEYWORDS = 1 << 2;
+    public static final int REASON_SHORT_MESSAGE_KEYWORD = 1 << 3;
+    public static final int REASON_LONG_MESSAGE_KEYWORD = 1 << 4;
+    public static final int REASON_SUSPICIOUS_SENDER = 1 << 5;
+    public static final int REASON_SHORT_NUMERIC_SENDER = 1 << 6;
+    public static final int REASON_SHORT_URGENT = 1 << 7;
+    public static final int REASON_EXCESSIVE_PUNCTUATION = 1 << 8;
+    public static final int REASON_EXCESSIVE_CAPITALS = 1 << 9;
+    // One bit per suspicious content pattern, starting here
+    public static final int REASON_PATTERN_SHIFT = 16;
+
+    // lengthCategory values
+    public static final int LENGTH_SHORT = 0;
+    public static final int LENGTH_MEDIUM = 1;
+    public static final int LENGTH_LONG = 2;
+
+    public int flags;
+    public float spamScore;
+    public int reasonMask;
+    public long rulesVersion;
+
+    // Context analysis
+    public int messageLength;
+    public int keywordCount;
+    public float keywordDensity;
+    public int lengthCategory;
+    public float contextMultiplier;
+
+    // Arguments for the reasons, valid until the next analysis
+    SpamRuleSet rules;
+    CharSequence sender;
+    int lowerBodyLength;
+    final KeywordAutomaton.Hits keywordHits = new KeywordAutomaton.Hits();
+
+    // Scratch state
+    final MessageScan scan = new MessageScan();
+    final FoldedText lowerSender = new FoldedText(16);
+    private SpamRuleSet matcherRules;
+    private Matcher[] patternMatchers;
+    private Matcher[] senderMatchers;
+    private Matcher shortNumericSenderMatcher;
+
+    public boolean isSpam() {
+        return (flags & FLAG_SPAM) != 0;
+    }
+
+    public boolean isEmpty() {
+        return (flags & FLAG_EMPTY) != 0;
+    }
+
+    public boolean hasReason(int reason) {
+        return (reasonMask & reason) != 0;
+    }
+
+    void reset(SpamRuleSet rules, CharSequence sender) {
+        flags = 0;
+        spamScore = 0.0f;
+        reasonMask = 0;
+        rulesVersion = rules.version;
+        messageLength = 0;
+        keywordCount = 0;
+        keywordDensity = 0.0f;
+        lengthCategory = LENGTH_SHORT;
+        contextMultiplier = 1.0f;
+        lowerBodyLength = 0;
+        keywordHits.clear();
+        this.rules = rules;
+        this.sender = sender;
+
+        if (matcherRules != rules) {
+            // Matchers are reusable through reset(), but are bound to their rule snapshot
+            patternMatchers = matchersFor(rules.suspiciousPatterns);
+            senderMatchers = matchersFor(rules.highRiskSenderPatterns);
+            shortNumericSenderMatcher = rules.shortNumericSenderPattern.matcher("");
+            matcherRules = rules;
+        }
+    }
+
+    Matcher patternMatcher(int index, CharSequence input) {
+        return patternMatchers[index].reset(input);
+    }
+
+    Matcher senderMatcher(int index, CharSequence input) {
+        return senderMatchers[index].reset(input);
+    }
+
+    Matcher shortNumericSenderMatcher(CharSequence input) {
+        return shortNumericSenderMatcher.reset(input);
+    }
+
+    private static Matcher[] matchersFor(java.util.regex.Pattern[] patterns) {
+        Matcher[] matchers = new Matcher[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            matchers[i] = patterns[i].matcher("");
+        }
+        return matchers;
+    }
+}
@@ -4,11 +4,19 @@ import android.content.ContentResolver;
 import android.content.Context;
 import android.database.Cursor;
 import android.net.Uri;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
 import android.util.Log;
 
+import com.example.testapplication.data.DailyStats;
+import com.example.testapplication.data.DateIndex;
+import com.example.testapplication.data.IncrementalSmsScanner;
+import com.example.testapplication.data.MessageColumns;
+import com.example.testapplication.data.VerdictStore;
 import com.example.testapplication.models.SmsMessage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class SmsHelper {
@@ -18,6 +26,14 @@ public class SmsHelper {
     private static final Uri SMS_SENT_URI = Uri.parse("content://sms/sent");
     private static final Uri SMS_URI = Uri.parse("content://sms");
     
+    private static final String INBOX_SELECTION = "type = ?";
+    private static final String INBOX_TYPE = "1";
+    private static final int SPAM_LIST_LIMIT = 100;
+    // Ids per "_id IN (...)" query
+    private static final int ID_CHUNK_SIZE = 500;
+    // Rows per keyset page when streaming
+    public static final int STREAM_PAGE_SIZE = 500;
+    
     private static final String[] SMS_PROJECTION = {
         "_id",          // 0
         "thread_id",    // 1
@@ -27,108 +43,396 @@ public class SmsHelper {
         "type"          // 5
     };
 
+    // Rows without bodies for callers that take verdicts from the verdict index;
+    // date keeps position 4 for the keyset
+    private static final String[] ROW_PROJECTION = {
+        "_id",          // 0
+        "thread_id",    // 1
+        "address",      // 2
+        "type",         // 3
+        "date"          // 4
+    };
+
     public static List<SmsMessage> getAllSmsMessages(Context context) {
         return getAllSmsMessages(context, 100); // Default limit
     }
 
     public static List<SmsMessage> getAllSmsMessages(Context context, int limit) {
-        List<SmsMessage> messages = new ArrayList<>();
-        
+        return getAllSmsMessages(context, limit, null);
+    }
+
+    /**
+     * @param signal cancels the provider read when this load is superseded; the load then
+     *               throws OperationCanceledException. May be null.
+     */
+    public static List<SmsMessage> getAllSmsMessages(Context context, int limit, CancellationSignal signal) {
         if (!PermissionHelper.hasSmsPermissions(context)) {
             Log.w(TAG, "SMS permissions not granted");
+            return new ArrayList<>();
+        }
+
+        throwIfCanceled(signal);
+
+        // Served from the incremental mirror; only rows changed since the last scan are read
+        IncrementalSmsScanner scanner = IncrementalSmsScanner.getInstance(context);
+        MessageColumns snapshot = scanner.refresh(signal);
+        List<SmsMessage> messages = scanner.getMessages(snapshot, snapshot.newest(limit), signal);
+
+        Log.d(TAG, "Retrieved " + messages.size() + " SMS messages");
+        return messages;
+    }
+
+    public static List<SmsMessage> getInboxMessages(Context context, int limit) {
+        return getInboxMessages(context, limit, null);
+    }
+
+    public static List<SmsMessage> getInboxMessages(Context context, int limit, CancellationSignal signal) {
+        // content://sms/inbox is the same row set as type = 1
+        return getAllSmsMessages(context, limit, signal);
+    }
+
+    public static List<SmsMessage> getSpamMessages(Context context) {
+        return getSpamMessages(context, null);
+    }
+
+    public static List<SmsMessage> getSpamMessages(Context context, CancellationSignal signal) {
+        // Indexed lookup; only new or re-ruled messages get scored
+        VerdictStore store = VerdictStore.getInstance(context);
+        store.sync();
+        throwIfCanceled(signal);
+        return getSmsMessagesByIds(context, store.getIdsByType(true, SPAM_LIST_LIMIT), signal);
+    }
+
+    /**
+     * Inbox messages whose bodies contain every term of the query, newest first.
+     * Terms are folded with Turkish case rules; a trailing '*' makes a term a prefix.
+     * Answered from the persistent body index, not by scanning bodies.
+     */
+    public static List<SmsMessage> searchMessages(Context context, String query, int limit) {
+        if (!PermissionHelper.hasSmsPermissions(context) || query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        VerdictStore store = VerdictStore.getInstance(context);
+        store.sync();
+        return getSmsMessagesByIds(context, store.search(query, limit));
+    }
+
+    /**
+     * Load and analyze the given messages, keeping the order of the ids
+     * (callers pass them newest first)
+     */
+    public static List<SmsMessage> getSmsMessagesByIds(Context context, long[] messageIds) {
+        return getSmsMessagesByIds(context, messageIds, null);
+    }
+
+    public static List<SmsMessage> getSmsMessagesByIds(Context context, long[] messageIds, CancellationSignal signal) {
+        return getMessagesByIds(context, messageIds, true, signal);
+    }
+
+    /**
+     * The given messages without bodies and unscored, newest first
+     */
+    public static List<SmsMessage> getMessageRowsByIds(Context context, long[] messageIds, CancellationSignal signal) {
+        return getMessagesByIds(context, messageIds, false, signal);
+    }
+
+    private static List<SmsMessage> getMessagesByIds(Context context, long[] messageIds, boolean analyze,
+                                                     CancellationSignal signal) {
+        List<SmsMessage> messages = new ArrayList<>(messageIds.length);
+        
+        if (messageIds.length == 0 || !PermissionHelper.hasSmsPermissions(context)) {
             return messages;
         }
 
-        ContentResolver resolver = context.getContentResolver();
-        String sortOrder = "date DESC" + (limit > 0 ? " LIMIT " + limit : "");
-        String selection = "type = ?";
-        String[] selectionArgs = {"1"};
+        for (int start = 0; start < messageIds.length; start += ID_CHUNK_SIZE) {
+            int end = Math.min(start + ID_CHUNK_SIZE, messageIds.length);
+            StringBuilder selection = new StringBuilder("_id IN (");
+            String[] selectionArgs = new String[end - start];
+            for (int i = start; i < end; i++) {
+                selection.append(i == start ? "?" : ",?");
+                selectionArgs[i - start] = String.valueOf(messageIds[i]);
+            }
+            selection.append(')');
 
-        try (Cursor cursor = resolver.query(
-                SMS_URI, 
-                SMS_PROJECTION, 
-                selection, 
-                selectionArgs, 
-                sortOrder)) {
-            
+            messages.addAll(queryMessages(context, analyze, selection.toString(), selectionArgs, "date DESC",
+                    0, null, signal));
+        }
+
+        return messages;
+    }
+
+    public interface PageConsumer {
+        /**
+         * Receives one analyzed page, newest first; return false to stop streaming
+         */
+        boolean onPage(List<SmsMessage> page);
+    }
+
+    /**
+     * Stream analyzed messages matching the selection, newest first, one page at a
+     * time. Pages are keyset-paginated on (date, _id), so each page is a fresh bounded
+     * query and memory stays flat however large the inbox is; a page is handed to the
+     * consumer before the next one is read. Returns the number of messages streamed.
+     */
+    public static int streamMessages(Context context, String selection, String[] selectionArgs,
+                                     PageConsumer consumer, CancellationSignal signal) {
+        return streamMessages(context, true, selection, selectionArgs, consumer, signal);
+    }
+
+    private static int streamMessages(Context context, boolean analyze, String selection, String[] selectionArgs,
+                                      PageConsumer consumer, CancellationSignal signal) {
+        if (!PermissionHelper.hasSmsPermissions(context)) {
+            return 0;
+        }
+
+        PageKey key = new PageKey();
+        int streamed = 0;
+        while (true) {
+            String pageSelection = selection;
+            String[] pageArgs = selectionArgs;
+            if (key.rows > 0) {
+                // Strictly after the last row of the previous page in (date DESC, _id DESC) order
+                String keyset = "(date < ? OR (date = ? AND _id < ?))";
+                pageSelection = selection != null ? "(" + selection + ") AND " + keyset : keyset;
+                String lastDate = String.valueOf(key.lastDate);
+                pageArgs = appendArgs(selectionArgs, lastDate, lastDate, String.valueOf(key.lastId));
+            }
+
+            key.rows = 0;
+            List<SmsMessage> page = queryMessages(context, analyze, pageSelection, pageArgs,
+                    "date DESC, _id DESC LIMIT " + STREAM_PAGE_SIZE, STREAM_PAGE_SIZE, key, signal);
+            streamed += page.size();
+            if (key.rows == 0 || !consumer.onPage(page) || key.rows < STREAM_PAGE_SIZE) {
+                return streamed;
+            }
+        }
+    }
+
+    /**
+     * Stream inbox rows above the high-water mark: newer _id, or a later date than
+     * anything seen (restored messages can arrive with old ids). Newest first.
+     */
+    public static int streamInboxMessagesAfter(Context context, long afterId, long afterDate,
+                                               PageConsumer consumer, CancellationSignal signal) {
+        return streamMessages(context, true,
+                INBOX_SELECTION + " AND (_id > ? OR date > ?)",
+                new String[]{INBOX_TYPE, String.valueOf(afterId), String.valueOf(afterDate)},
+                consumer, signal);
+    }
+
+    /**
+     * Same rows as streamInboxMessagesAfter, but without bodies and unscored
+     */
+    public static int streamInboxRowsAfter(Context context, long afterId, long afterDate,
+                                           PageConsumer consumer, CancellationSignal signal) {
+        return streamMessages(context, false,
+                INBOX_SELECTION + " AND (_id > ? OR date > ?)",
+                new String[]{INBOX_TYPE, String.valueOf(afterId), String.valueOf(afterDate)},
+                consumer, signal);
+    }
+
+    // Position of the last cursor row read, for the next keyset page
+    private static final class PageKey {
+        long lastDate;
+        long lastId;
+        int rows;
+    }
+
+    private static String[] appendArgs(String[] args, String... extra) {
+        if (args == null) {
+            return extra;
+        }
+        String[] combined = Arrays.copyOf(args, args.length + extra.length);
+        System.arraycopy(extra, 0, combined, args.length, extra.length);
+        return combined;
+    }
+
+    /**
+     * Number of inbox rows, or -1 if the provider could not be read
+     */
+    public static int getInboxCount(Context context) {
+        return queryCount(context, INBOX_SELECTION, new String[]{INBOX_TYPE});
+    }
+
+    /**
+     * Count messages matching a filter without loading them. Inbox date/spam filters
+     * are a binary search over the mirror's date index; other provider predicates are
+     * pushed down as a COUNT selection; spam filters with a sender are counted on the
+     * verdict index.
+     */
+    public static int countMessages(Context context, SmsSelection filter) {
+        if (!PermissionHelper.hasSmsPermissions(context)) {
+            return 0;
+        }
+        if (filter.matchesDateIndex()) {
+            return dateIndexFor(context, filter).count(filter.getStartDate(), filter.getEndDate());
+        }
+        if (filter.needsVerdicts()) {
+            if (!filter.matchesIndexedRows()) {
+                return 0;
+            }
+            VerdictStore store = VerdictStore.getInstance(context);
+            store.sync();
+            return store.count(filter);
+        }
+        return Math.max(0, queryCount(context, filter.providerSelection(), filter.providerSelectionArgs()));
+    }
+
+    /**
+     * Ids of messages matching a filter, newest first, without loading bodies
+     */
+    public static long[] getMessageIds(Context context, SmsSelection filter) {
+        if (!PermissionHelper.hasSmsPermissions(context)) {
+            return new long[0];
+        }
+        if (filter.matchesDateIndex()) {
+            return dateIndexFor(context, filter).ids(filter.getStartDate(), filter.getEndDate());
+        }
+        if (filter.needsVerdicts()) {
+            if (!filter.matchesIndexedRows()) {
+                return new long[0];
+            }
+            VerdictStore store = VerdictStore.getInstance(context);
+            store.sync();
+            return store.getIds(filter);
+        }
+        long[] ids = queryIds(context, filter.providerSelection(), filter.providerSelectionArgs(), "date DESC");
+        return ids != null ? ids : new long[0];
+    }
+
+    // Inbox filters without a sender are a binary search over the mirror's dates
+    private static DateIndex dateIndexFor(Context context, SmsSelection filter) {
+        MessageColumns snapshot = IncrementalSmsScanner.getInstance(context).refresh();
+        Boolean spam = filter.getSpam();
+        return spam != null ? snapshot.dateIndex(spam) : snapshot.dateIndex();
+    }
+
+    private static int queryCount(Context context, String selection, String[] selectionArgs) {
+        ContentResolver resolver = context.getContentResolver();
+        try (Cursor cursor = resolver.query(SMS_URI, new String[]{"COUNT(_id)"},
+                selection, selectionArgs, null)) {
             if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    SmsMessage message = createSmsMessageFromCursor(cursor);
-                    if (message != null) {
-                        SpamDetector.SpamAnalysisResult result = 
-                            SpamDetector.analyzeMessage(message.body, message.address, context);
-                        
-                        message.isSpam = result.isSpam;
-                        message.spamScore = result.spamScore;
-                        message.spamReason = result.reason;
-                        
-                        messages.add(message);
-                    }
-                } while (cursor.moveToNext());
+                return cursor.getInt(0);
             }
         } catch (SecurityException e) {
-            Log.e(TAG, "Security exception reading SMS: " + e.getMessage());
+            Log.e(TAG, "Security exception counting SMS: " + e.getMessage());
+            return -1;
         } catch (Exception e) {
-            Log.e(TAG, "Error reading SMS: " + e.getMessage());
+            // Some providers reject aggregate projections; count an id-only cursor instead
+            Log.w(TAG, "COUNT projection not supported: " + e.getMessage());
         }
 
-        Log.d(TAG, "Retrieved " + messages.size() + " SMS messages");
-        return messages;
+        try (Cursor cursor = resolver.query(SMS_URI, new String[]{"_id"},
+                selection, selectionArgs, null)) {
+            if (cursor != null) {
+                return cursor.getCount();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error counting SMS: " + e.getMessage());
+        }
+        return -1;
     }
 
-    public static List<SmsMessage> getInboxMessages(Context context, int limit) {
-        List<SmsMessage> messages = new ArrayList<>();
-        
-        if (!PermissionHelper.hasSmsPermissions(context)) {
-            Log.w(TAG, "SMS permissions not granted");
-            return messages;
+    /**
+     * All inbox ids in ascending order, or null if the provider could not be read
+     */
+    public static long[] getInboxIds(Context context) {
+        return queryIds(context, INBOX_SELECTION, new String[]{INBOX_TYPE}, "_id ASC");
+    }
+
+    private static long[] queryIds(Context context, String selection, String[] selectionArgs, String sortOrder) {
+        ContentResolver resolver = context.getContentResolver();
+        try (Cursor cursor = resolver.query(SMS_URI, new String[]{"_id"},
+                selection, selectionArgs, sortOrder)) {
+            if (cursor == null) {
+                return null;
+            }
+            long[] ids = new long[cursor.getCount()];
+            int i = 0;
+            if (cursor.moveToFirst()) {
+                do {
+                    ids[i++] = cursor.getLong(0);
+                } while (cursor.moveToNext() && i < ids.length);
+            }
+            return i == ids.length ? ids : Arrays.copyOf(ids, i);
+        } catch (SecurityException e) {
+            Log.e(TAG, "Security exception reading SMS ids: " + e.getMessage());
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading SMS ids: " + e.getMessage());
         }
+        return null;
+    }
 
+    /**
+     * @param analyze if false, rows are read without bodies and left unscored
+     * @param maxRows stop after this many cursor rows (0 = no limit), in case the
+     *                provider ignores a LIMIT in the sort order
+     * @param key     if not null, records the last cursor row read and the row count
+     */
+    private static List<SmsMessage> queryMessages(Context context, boolean analyze, String selection,
+                                                  String[] selectionArgs, String sortOrder,
+                                                  int maxRows, PageKey key,
+                                                  CancellationSignal signal) {
+        List<SmsMessage> messages = new ArrayList<>();
         ContentResolver resolver = context.getContentResolver();
-        String sortOrder = "date DESC" + (limit > 0 ? " LIMIT " + limit : "");
 
         try (Cursor cursor = resolver.query(
-                SMS_INBOX_URI, 
-                SMS_PROJECTION, 
-                null, 
-                null, 
-                sortOrder)) {
+                SMS_URI, 
+                analyze ? SMS_PROJECTION : ROW_PROJECTION,
+                selection, 
+                selectionArgs, 
+                sortOrder,
+                signal)) {
             
             if (cursor != null && cursor.moveToFirst()) {
+                // One rule snapshot and one scratch holder for the whole scan. Bulk reads
+                // bypass the verdict cache: a miss there allocates a key, an entry and a
+                // verdict copy, and a scan rarely sees the same (body, sender) twice
+                SpamRuleSet rules = analyze ? SpamDetector.getRuleSet(context) : null;
+                MutableSpamVerdict verdict = analyze ? new MutableSpamVerdict() : null;
+                int rows = 0;
                 do {
-                    SmsMessage message = createSmsMessageFromCursor(cursor);
+                    throwIfCanceled(signal);
+                    SmsMessage message = analyze ? createSmsMessageFromCursor(cursor) : createRowFromCursor(cursor);
                     if (message != null) {
-                        SpamDetector.SpamAnalysisResult result = 
-                            SpamDetector.analyzeMessage(message.body, message.address, context);
-                        
-                        message.isSpam = result.isSpam;
-                        message.spamScore = result.spamScore;
-                        message.spamReason = result.reason;
-                        
+                        if (analyze) {
+                            SpamDetector.analyzeInto(message.body, message.address, rules, verdict);
+                            applyVerdict(message, verdict);
+                        }
                         messages.add(message);
                     }
-                } while (cursor.moveToNext());
+                    if (key != null) {
+                        // Keyed on the raw row, so a row that failed to parse still advances the page
+                        key.lastId = cursor.getLong(0);
+                        key.lastDate = cursor.getLong(4);
+                        key.rows++;
+                    }
+                } while (++rows != maxRows && cursor.moveToNext());
             }
+        } catch (OperationCanceledException e) {
+            throw e;
         } catch (SecurityException e) {
-            Log.e(TAG, "Security exception reading inbox SMS: " + e.getMessage());
+            Log.e(TAG, "Security exception reading SMS: " + e.getMessage());
         } catch (Exception e) {
-            Log.e(TAG, "Error reading inbox SMS: " + e.getMessage());
+            Log.e(TAG, "Error reading SMS: " + e.getMessage());
         }
 
         return messages;
     }
 
-    public static List<SmsMessage> getSpamMessages(Context context) {
-        List<SmsMessage> allMessages = getAllSmsMessages(context);
-        List<SmsMessage> spamMessages = new ArrayList<>();
-        
-        for (SmsMessage message : allMessages) {
-            if (message.isSpam) {
-                spamMessages.add(message);
-            }
+    static void throwIfCanceled(CancellationSignal signal) {
+        if (signal != null) {
+            signal.throwIfCanceled();
         }
-        
-        return spamMessages;
+    }
+
+    /**
+     * Copy a verdict onto the message; reasons are only materialized for messages that have any
+     */
+    public static void applyVerdict(SmsMessage message, MutableSpamVerdict verdict) {
+        message.isSpam = verdict.isSpam();
+        message.spamScore = verdict.spamScore;
+        message.spamExplanation = SpamDetector.explain(verdict);
     }
 
     public static boolean deleteSmsMessage(Context context, long messageId) {
@@ -148,6 +452,7 @@ public class SmsHelper {
             int deletedRows = resolver.delete(deleteUri, null, null);
             
             if (deletedRows > 0) {
+                VerdictStore.getInstance(context).remove(messageId);
                 return true;
             } else {
                 Log.w(TAG, "Delete failed: Message ID " + messageId + " not found or already deleted");
@@ -164,14 +469,16 @@ public class SmsHelper {
     }
 
     public static int deleteSpamMessages(Context context) {
-        List<SmsMessage> spamMessages = getSpamMessages(context);
-        int deletedCount = 0;
-        
-        for (SmsMessage message : spamMessages) {
-            if (deleteSmsMessage(context, message.id)) {
-                deletedCount++;
-            }
+        if (!PermissionHelper.isDefaultSmsApp(context)) {
+            Log.e(TAG, "Delete failed: App must be default SMS app for deletion");
+            return 0;
         }
+
+        // Same rows as getSpamMessages, but only their ids: bodies are not loaded
+        VerdictStore store = VerdictStore.getInstance(context);
+        store.sync();
+        long[] spamIds = store.getIdsByType(true, SPAM_LIST_LIMIT);
+        int deletedCount = new BatchSmsDeleter(context).delete(spamIds, null);
         
         if (deletedCount > 0) {
             Log.i(TAG, "Deleted " + deletedCount + " spam messages");
@@ -221,11 +528,22 @@ public class SmsHelper {
         }
     }
 
+    private static SmsMessage createRowFromCursor(Cursor cursor) {
+        try {
+            return new SmsMessage(cursor.getLong(0), cursor.getLong(1), cursor.getString(2), null,
+                    cursor.getLong(4), cursor.getInt(3));
+        } catch (Exception e) {
+            Log.e(TAG, "Error creating SMS row from cursor: " + e.getMessage());
+            return null;
+        }
+    }
+
     public static class SmsStatistics {
         public int totalMessages;
         public int inboxMessages;
         public int sentMessages;
         public int spamMessages;
+        // Messages of today's calendar day
         public int todayMessages;
         
         public SmsStatistics() {
@@ -238,40 +556,121 @@ public class SmsHelper {
     }
 
     public static SmsStatistics getSmsStatistics(Context context) {
-        SmsStatistics stats = new SmsStatistics();
-        
-        List<SmsMessage> allMessages = getAllSmsMessages(context, 0); // No limit
-        
-        long todayStart = System.currentTimeMillis() - (24 * 60 * 60 * 1000); // 24 hours ago
-        
-        for (SmsMessage message : allMessages) {
-            stats.totalMessages++;
-            
-            if (message.isInbox()) {
-                stats.inboxMessages++;
-            } else if (message.isSent()) {
-                stats.sentMessages++;
-            }
-            
-            if (message.isSpam) {
-                stats.spamMessages++;
-            }
-            
-            if (message.date >= todayStart) {
-                stats.todayMessages++;
-            }
+        return getSmsStatistics(context, null);
+    }
+
+    public static SmsStatistics getSmsStatistics(Context context, CancellationSignal signal) {
+        if (!PermissionHelper.hasSmsPermissions(context)) {
+            return new SmsStatistics();
         }
-        
+        throwIfCanceled(signal);
+        IncrementalSmsScanner scanner = IncrementalSmsScanner.getInstance(context);
+        scanner.refresh(signal);
+        return computeStatistics(scanner.getDailyStats());
+    }
+
+    /**
+     * Spam count per day for the last {@code days} days, oldest first
+     */
+    public static int[] getDailySpamTrend(Context context, int days) {
+        IncrementalSmsScanner scanner = IncrementalSmsScanner.getInstance(context);
+        if (PermissionHelper.hasSmsPermissions(context)) {
+            scanner.refresh();
+        }
+        return scanner.getDailyStats().getDailySpam(days);
+    }
+
+    /**
+     * Spam count per week for the last {@code weeks} weeks, oldest first
+     */
+    public static int[] getWeeklySpamTrend(Context context, int weeks) {
+        IncrementalSmsScanner scanner = IncrementalSmsScanner.getInstance(context);
+        if (PermissionHelper.hasSmsPermissions(context)) {
+            scanner.refresh();
+        }
+        return scanner.getDailyStats().getWeeklySpam(weeks);
+    }
+
+    // Assembled from the mirror's per-day counts rather than a scan of every row
+    private static SmsStatistics computeStatistics(DailyStats daily) {
+        SmsStatistics stats = new SmsStatistics();
+        DailyStats.Counts totals = daily.getTotals();
+        stats.totalMessages = totals.total;
+        stats.inboxMessages = totals.inbox;
+        stats.sentMessages = totals.sent;
+        stats.spamMessages = totals.spam;
+        stats.todayMessages = daily.getToday().total;
         return stats;
     }
-    
+
     /**
-     * Get all SMS messages without limit (for bulk operations)
+     * Everything a full refresh publishes, built together from one snapshot
+     */
+    public static class MessageViews {
+        public final List<SmsMessage> allMessages;
+        public final List<SmsMessage> inboxMessages;
+        public final List<SmsMessage> spamMessages;
+        public final SmsStatistics statistics;
+        // The snapshot the lists were cut from, for paging past the list limits
+        public final MessageColumns columns;
+
+        MessageViews(List<SmsMessage> allMessages, List<SmsMessage> inboxMessages,
+                     List<SmsMessage> spamMessages, SmsStatistics statistics, MessageColumns columns) {
+            this.allMessages = allMessages;
+            this.inboxMessages = inboxMessages;
+            this.spamMessages = spamMessages;
+            this.statistics = statistics;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * Build the all/inbox/spam lists and the statistics from one snapshot of the
+     * analyzed inbox, so one refresh costs one incremental provider read. The lists are
+     * row-index views over the columns; only their rows are turned into messages.
+     * A limit of 0 means no limit for that list.
+     */
+    public static MessageViews getMessageViews(Context context, int allLimit, int inboxLimit, int spamLimit) {
+        if (!PermissionHelper.hasSmsPermissions(context)) {
+            Log.w(TAG, "SMS permissions not granted");
+            return new MessageViews(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new SmsStatistics(),
+                    MessageColumns.empty());
+        }
+
+        IncrementalSmsScanner scanner = IncrementalSmsScanner.getInstance(context);
+        MessageColumns snapshot = scanner.refresh();
+
+        // Overlapping rows are shared: the inbox and spam lists mostly hit the scanner's cache
+        List<SmsMessage> all = scanner.getMessages(snapshot, snapshot.newest(allLimit), null);
+        List<SmsMessage> inbox = scanner.getMessages(snapshot, snapshot.rowsOfType(1, inboxLimit), null);
+        List<SmsMessage> spam = scanner.getMessages(snapshot, snapshot.spamRows(spamLimit), null);
+
+        return new MessageViews(all, inbox, spam, computeStatistics(scanner.getDailyStats()), snapshot);
+    }
+
+    public static MessageViews getMessageViews(Context context, int allLimit, int inboxLimit) {
+        return getMessageViews(context, allLimit, inboxLimit, SPAM_LIST_LIMIT);
+    }
+
+    /**
+     * Get all SMS messages without limit. Loads every body; aggregate callers should
+     * read getMessageColumns instead.
      */
     public static List<SmsMessage> getAllMessages(Context context) {
         return getAllSmsMessages(context, 0); // No limit
     }
     
+    /**
+     * Current columnar snapshot of the analyzed inbox, newest first
+     */
+    public static MessageColumns getMessageColumns(Context context) {
+        if (!PermissionHelper.hasSmsPermissions(context)) {
+            Log.w(TAG, "SMS permissions not granted");
+            return MessageColumns.empty();
+        }
+        return IncrementalSmsScanner.getInstance(context).refresh();
+    }
+    
     /**
      * Delete a single SMS message by ID
      */
@@ -289,6 +688,7 @@ public class SmsHelper {
             
             if (deletedRows > 0) {
                 Log.d(TAG, "Successfully deleted SMS message with ID: " + messageId);
+                VerdictStore.getInstance(context).remove(messageId);
                 return true;
             } else {
                 Log.w(TAG, "No message found with ID: " + messageId);
@@ -305,30 +705,13 @@ public class SmsHelper {
      * Bulk delete multiple SMS messages by IDs
      */
     public static int bulkDeleteMessages(Context context, List<Long> messageIds) {
-        if (!PermissionHelper.hasSmsPermissions(context)) {
-            Log.w(TAG, "SMS permissions not granted for bulk deletion");
-            return 0;
+        long[] ids = new long[messageIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = messageIds.get(i);
         }
         
-        int deletedCount = 0;
-        ContentResolver resolver = context.getContentResolver();
-        
-        for (Long messageId : messageIds) {
-            try {
-                Uri deleteUri = Uri.parse("content://sms/" + messageId);
-                int deletedRows = resolver.delete(deleteUri, null, null);
-                
-                if (deletedRows > 0) {
-                    deletedCount++;
-                }
-                
-            } catch (Exception e) {
-                Log.e(TAG, "Error deleting message ID " + messageId + ": " + e.getMessage());
-            }
-        }
-        
-        Log.d(TAG, "Bulk deleted " + deletedCount + " out of " + messageIds.size() + " messages");
-        return deletedCount;
+        // Chunked "_id IN (...)" deletes instead of one provider call per message
+        return new BatchSmsDeleter(context).delete(ids, null);
     }
     
     /**
@@ -0,0 +1,197 @@
+package com.example.testapplication.utils;
+
+import com.example.testapplication.data.AddressPool;
+import com.example.testapplication.data.VerdictDatabase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Message selection for bulk counts and deletes: sender, date range, provider type and
+ * spam flag. Sender, date and type compile to a provider selection; the spam flag is
+ * not a provider column, so filters that use it are answered from the verdict index,
+ * which holds date and sender as well.
+ */
+public final class SmsSelection {
+
+    public static final int TYPE_INBOX = 1;
+
+    private String sender;
+    private long startDate = Long.MIN_VALUE;
+    private long endDate = Long.MAX_VALUE;
+    private int type = -1;
+    private Boolean spam;
+
+    public static SmsSelection all() {
+        return new SmsSelection();
+    }
+
+    /**
+     * Messages from this sender under any spelling of its number
+     */
+    public SmsSelection sender(String sender) {
+        this.sender = sender;
+        return this;
+    }
+
+    /**
+     * Inclusive range, as used by the date pickers
+     */
+    public SmsSelection dateRange(long startDate, long endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        return this;
+    }
+
+    public SmsSelection type(int type) {
+        this.type = type;
+        return this;
+    }
+
+    public SmsSelection spam(boolean isSpam) {
+        this.spam = isSpam;
+        return this;
+    }
+
+    /**
+     * True when the filter needs spam verdicts and must run against the verdict index
+     */
+    public boolean needsVerdicts() {
+        return spam != null;
+    }
+
+    /**
+     * The verdict index only holds inbox rows, so other types can never match a spam filter
+     */
+    public boolean matchesIndexedRows() {
+        return type == -1 || type == TYPE_INBOX;
+    }
+
+    /**
+     * True when the filter can be answered from the inbox mirror's date index: inbox
+     * rows, optionally by date range and spam flag, but not by sender
+     */
+    public boolean matchesDateIndex() {
+        return sender == null && type == TYPE_INBOX;
+    }
+
+    public long getStartDate() {
+        return startDate;
+    }
+
+    public long getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Spam flag to match, or null for both
+     */
+    public Boolean getSpam() {
+        return spam;
+    }
+
+    // Provider selection over content://sms columns
+
+    public String providerSelection() {
+        List<String> clauses = new ArrayList<>();
+        if (sender != null) {
+            clauses.add("address IN (" + placeholders(senderSpellings().length) + ")");
+        }
+        if (startDate != Long.MIN_VALUE) {
+            clauses.add("date >= ?");
+        }
+        if (endDate != Long.MAX_VALUE) {
+            clauses.add("date <= ?");
+        }
+        if (type != -1) {
+            clauses.add("type = ?");
+        }
+        return clauses.isEmpty() ? null : String.join(" AND ", clauses);
+    }
+
+    public String[] providerSelectionArgs() {
+        List<String> args = new ArrayList<>();
+        if (sender != null) {
+            args.addAll(Arrays.asList(senderSpellings()));
+        }
+        if (startDate != Long.MIN_VALUE) {
+            args.add(String.valueOf(startDate));
+        }
+        if (endDate != Long.MAX_VALUE) {
+            args.add(String.valueOf(endDate));
+        }
+        if (type != -1) {
+            args.add(String.valueOf(type));
+        }
+        return args.isEmpty() ? null : args.toArray(new String[0]);
+    }
+
+    // Selection over the verdict index table
+
+    public String indexSelection() {
+        List<String> clauses = new ArrayList<>();
+        if (spam != null) {
+            clauses.add(VerdictDatabase.spamPredicate(spam));
+        }
+        if (startDate != Long.MIN_VALUE) {
+            clauses.add(VerdictDatabase.COLUMN_DATE + " >= ?");
+        }
+        if (endDate != Long.MAX_VALUE) {
+            clauses.add(VerdictDatabase.COLUMN_DATE + " <= ?");
+        }
+        if (sender != null) {
+            clauses.add(VerdictDatabase.COLUMN_ADDRESS_ID + " = (SELECT " + VerdictDatabase.COLUMN_ID +
+                    " FROM " + VerdictDatabase.TABLE_ADDRESSES + " WHERE " + VerdictDatabase.COLUMN_ADDRESS + " = ?)");
+        }
+        return clauses.isEmpty() ? null : String.join(" AND ", clauses);
+    }
+
+    public String[] indexSelectionArgs() {
+        // The spam flag is written inline by indexSelection, so it has no arg
+        List<String> args = new ArrayList<>();
+        if (startDate != Long.MIN_VALUE) {
+            args.add(String.valueOf(startDate));
+        }
+        if (endDate != Long.MAX_VALUE) {
+            args.add(String.valueOf(endDate));
+        }
+        if (sender != null) {
+            args.add(AddressNormalizer.getDefault().normalize(sender));
+        }
+        return args.isEmpty() ? null : args.toArray(new String[0]);
+    }
+
+    // The provider stores addresses as received and compares them as exact text, so
+    // match every spelling the inbox mirror has seen for the sender (other letter case,
+    // spaces, dashes) plus the common spellings of a home-country number
+    private String[] senderSpellings() {
+        Set<String> spellings = new LinkedHashSet<>();
+        spellings.add(sender);
+        spellings.add(sender.trim());
+        spellings.addAll(Arrays.asList(AddressPool.shared().spellingsOf(sender)));
+        spellings.addAll(Arrays.asList(AddressNormalizer.getDefault().variants(sender)));
+        return spellings.toArray(new String[0]);
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ", ?");
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SmsSelection{" +
+                "sender=" + sender +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", type=" + type +
+                ", spam=" + spam +
+                '}';
+    }
+}
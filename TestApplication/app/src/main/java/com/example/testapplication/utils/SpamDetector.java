@@ -22,22 +22,6 @@ public class SpamDetector {
     private static final int MEDIUM_MESSAGE = 150;   // Normal message  
     private static final int LONG_MESSAGE = 300;     // Detailed message
     
-    private static final String[] SUSPICIOUS_PATTERNS = {
-        "\\b\\d{2,}\\s*(TL|₺|lira)", // Money amounts
-        "\\b(www\\.|http|https)", // Links  
-        "\\b\\d{2,}\\s*%", // Percentages
-        "\\b(tikla|kayit|kayıt|bonus|hemen|acele)", // Action words
-        "\\b\\d{4}\\s*kod", // Promo codes
-        "\\+\\d{1,3}\\s*\\d{3,}" // International numbers
-    };
-    
-    private static final String[] HIGH_RISK_SENDERS = {
-        "\\d{4,5}", // Short numeric codes
-        ".*bonus.*", 
-        ".*bet.*",
-        ".*casino.*"
-    };
-
     public static class SpamAnalysisResult {
         public final boolean isSpam;
         public final float spamScore;
@@ -82,233 +66,381 @@ public class SpamDetector {
         }
     }
     
-    private static class KeywordAnalysisResult {
-        public final float contextAwareScore;
-        public final int keywordCount;
-        public final float keywordDensity;
-        public final String lengthCategory;
-        public final float contextMultiplier;
-        public final String contextDescription;
-        
-        public KeywordAnalysisResult(float contextAwareScore, int keywordCount, float keywordDensity,
-                                   String lengthCategory, float contextMultiplier, String contextDescription) {
-            this.contextAwareScore = contextAwareScore;
-            this.keywordCount = keywordCount;
-            this.keywordDensity = keywordDensity;
-            this.lengthCategory = lengthCategory;
-            this.contextMultiplier = contextMultiplier;
-            this.contextDescription = contextDescription;
-        }
-    }
+    // Argument-less reasons in report order: after the keywords...
+    private static final int[] KEYWORD_FLAG_REASONS = {
+        MutableSpamVerdict.REASON_MULTIPLE_KEYWORDS,
+        MutableSpamVerdict.REASON_SHORT_MESSAGE_KEYWORD,
+        MutableSpamVerdict.REASON_LONG_MESSAGE_KEYWORD
+    };
+    // ...and after the sender
+    private static final int[] TRAILING_REASONS = {
+        MutableSpamVerdict.REASON_SHORT_NUMERIC_SENDER,
+        MutableSpamVerdict.REASON_SHORT_URGENT,
+        MutableSpamVerdict.REASON_EXCESSIVE_PUNCTUATION,
+        MutableSpamVerdict.REASON_EXCESSIVE_CAPITALS
+    };
+
+    private static final VerdictCache VERDICT_CACHE = new VerdictCache(VerdictCache.DEFAULT_CAPACITY);
+
+    private static final String[] LENGTH_CATEGORIES = {"Kısa", "Orta", "Uzun"};
+    private static final float[] CONTEXT_MULTIPLIERS = {1.5f, 1.0f, 0.6f};
+    private static final String[] CONTEXT_DESCRIPTIONS = {
+        "Kısa mesaj - artırılmış spam skoru",
+        "Orta mesaj - normal spam skoru",
+        "Uzun mesaj - azaltılmış spam skoru"
+    };
 
     public static SpamAnalysisResult analyzeMessage(String messageBody, String sender) {
         return analyzeMessage(messageBody, sender, null);
     }
     
     public static SpamAnalysisResult analyzeMessage(String messageBody, String sender, Context context) {
-        if (messageBody == null || messageBody.trim().isEmpty()) {
-            return new SpamAnalysisResult(false, 0.0f, "Empty message", new ArrayList<>(), new ContextAnalysis());
+        if (messageBody == null) {
+            return emptyResult();
+        }
+        
+        return toResult(analyze(messageBody, sender, getRuleSet(context), null));
+    }
+
+    /**
+     * Cached analysis for one-off lookups: identical (body, sender) pairs under the same
+     * rules are scored once. The scratch holder is only used on a miss and may be null, in
+     * which case one is allocated when needed. Bulk scans call analyzeInto() instead.
+     */
+    public static SpamVerdict analyze(CharSequence messageBody, CharSequence sender, SpamRuleSet rules,
+                                      MutableSpamVerdict scratch) {
+        if (messageBody != null) {
+            SpamVerdict cached = VERDICT_CACHE.get(messageBody, sender, rules.version);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        MutableSpamVerdict verdict = scratch != null ? scratch : new MutableSpamVerdict();
+        analyzeInto(messageBody, sender, rules, verdict);
+        SpamVerdict result = new SpamVerdict(verdict, explain(verdict));
+        if (messageBody != null) {
+            VERDICT_CACHE.put(messageBody, sender, result);
+        }
+        return result;
+    }
+
+    /**
+     * Shared verdict cache, for its hit/miss/eviction counters
+     */
+    public static VerdictCache getVerdictCache() {
+        return VERDICT_CACHE;
+    }
+
+    /**
+     * Allocation-free analysis with the built-in rules
+     */
+    public static void analyzeInto(CharSequence messageBody, CharSequence sender, MutableSpamVerdict out) {
+        analyzeInto(messageBody, sender, SpamRuleSet.defaults(), out);
+    }
+
+    /**
+     * Allocation-free analysis for bulk scans: writes the verdict into a caller-owned holder.
+     * Reuse one holder and one rule snapshot per scan; reasons are kept as bits and are only
+     * turned into strings by {@link #toResult(MutableSpamVerdict)}.
+     */
+    public static void analyzeInto(CharSequence messageBody, CharSequence sender, SpamRuleSet rules,
+                                   MutableSpamVerdict out) {
+        out.reset(rules, sender);
+        if (messageBody == null) {
+            out.flags = MutableSpamVerdict.FLAG_EMPTY;
+            return;
+        }
+
+        // Single pass over the body; every stage below reads its output
+        MessageScan scan = out.scan;
+        scan.scan(messageBody);
+        if (scan.isBlank()) {
+            out.flags = MutableSpamVerdict.FLAG_EMPTY;
+            return;
         }
 
         float spamScore = 0.0f;
-        List<String> reasons = new ArrayList<>();
-        
-        String trimmedBody = messageBody.trim();
-        String lowerBody = trimmedBody.toLowerCase(Locale.forLanguageTag("tr"));
         
         // CONTEXT-AWARE KEYWORD ANALYSIS
-        KeywordAnalysisResult keywordResult = analyzeKeywordsWithContext(trimmedBody, lowerBody, reasons, context);
-        spamScore += keywordResult.contextAwareScore;
+        spamScore += analyzeKeywordsWithContext(scan, rules, out);
         
         // Pattern detection
-        spamScore += analyzePatterns(messageBody, reasons);
+        spamScore += analyzePatterns(messageBody, scan, rules, out);
         
         // Sender analysis  
-        spamScore += analyzeSender(sender, reasons);
+        spamScore += analyzeSender(sender, rules, out);
         
         // Message length and characteristics
-        spamScore += analyzeMessageCharacteristics(messageBody, reasons);
+        spamScore += analyzeMessageCharacteristics(scan, rules, out);
+
+        if (spamScore >= rules.spamThreshold) {
+            out.flags |= MutableSpamVerdict.FLAG_SPAM;
+        }
+        out.spamScore = Math.min(spamScore, 1.0f);
+    }
+
+    /**
+     * Only the context analysis (length, keyword count and density, multiplier) of a body,
+     * from one scan into the caller's holder. For display rows, whose verdict is already
+     * stored; patterns and sender are not evaluated. Null for blank bodies.
+     */
+    public static ContextAnalysis analyzeContext(CharSequence messageBody, SpamRuleSet rules,
+                                                 MutableSpamVerdict out) {
+        out.reset(rules, null);
+        if (messageBody == null) {
+            return null;
+        }
+        out.scan.scan(messageBody);
+        if (out.scan.isBlank()) {
+            return null;
+        }
+
+        analyzeKeywordsWithContext(out.scan, rules, out);
+        return new ContextAnalysis(
+            out.messageLength,
+            out.keywordCount,
+            out.keywordDensity,
+            LENGTH_CATEGORIES[out.lengthCategory],
+            out.contextMultiplier,
+            CONTEXT_DESCRIPTIONS[out.lengthCategory]
+        );
+    }
+
+    /**
+     * Expand a verdict into the full result with reason strings, for display
+     */
+    public static SpamAnalysisResult toResult(MutableSpamVerdict verdict) {
+        return toResult(new SpamVerdict(verdict, explain(verdict)));
+    }
 
-        // Create context analysis
+    public static SpamAnalysisResult toResult(SpamVerdict verdict) {
+        if (verdict.isEmpty) {
+            return emptyResult();
+        }
+
+        SpamExplanation explanation = verdict.explanation;
         ContextAnalysis contextAnalysis = new ContextAnalysis(
-            trimmedBody.length(),
-            keywordResult.keywordCount,
-            keywordResult.keywordDensity,
-            keywordResult.lengthCategory,
-            keywordResult.contextMultiplier,
-            keywordResult.contextDescription
+            verdict.messageLength,
+            verdict.keywordCount,
+            verdict.keywordDensity,
+            LENGTH_CATEGORIES[verdict.lengthCategory],
+            verdict.contextMultiplier,
+            CONTEXT_DESCRIPTIONS[verdict.lengthCategory]
         );
 
-        boolean isSpam = spamScore >= 0.5f;
-        String mainReason = reasons.isEmpty() ? "No spam indicators" : 
-                           String.join(", ", reasons.subList(0, Math.min(3, reasons.size())));
+        return new SpamAnalysisResult(verdict.isSpam, verdict.spamScore, explanation.summary(),
+                explanation.render(), contextAnalysis);
+    }
+
+    /**
+     * Structured reasons for a verdict, in report order. No text is built here;
+     * call render() or summary() on the result when it is displayed.
+     */
+    public static SpamExplanation explain(MutableSpamVerdict verdict) {
+        if (verdict.isEmpty()) {
+            return SpamExplanation.EMPTY_MESSAGE;
+        }
+        if (verdict.reasonMask == 0) {
+            return SpamExplanation.NONE;
+        }
+
+        KeywordAutomaton automaton = verdict.rules.keywordAutomaton;
+        KeywordAutomaton.Hits hits = verdict.keywordHits;
+        int patternCount = verdict.rules.suspiciousPatterns.length;
+        int[] codes = new int[hits.count() + patternCount + 8];
+        String[] args = new String[codes.length];
+        int size = 0;
 
-        return new SpamAnalysisResult(isSpam, Math.min(spamScore, 1.0f), mainReason, reasons, contextAnalysis);
+        int keywordCount = 0;
+        for (int i = 0; i < hits.count(); i++) {
+            int keywordIndex = hits.get(i);
+            keywordCount++;
+            if (automaton.keywordLength(keywordIndex) == verdict.lowerBodyLength) {
+                codes[size] = MutableSpamVerdict.REASON_EXACT_KEYWORD;
+                args[size++] = automaton.keyword(keywordIndex);
+            } else if (keywordCount <= 3) {
+                codes[size] = MutableSpamVerdict.REASON_KEYWORD;
+                args[size++] = automaton.keyword(keywordIndex);
+            }
+        }
+
+        for (int reason : KEYWORD_FLAG_REASONS) {
+            if (verdict.hasReason(reason)) {
+                codes[size++] = reason;
+            }
+        }
+
+        for (int i = 0; i < patternCount; i++) {
+            int reason = 1 << (MutableSpamVerdict.REASON_PATTERN_SHIFT + i);
+            if (verdict.hasReason(reason)) {
+                codes[size++] = reason;
+            }
+        }
+
+        if (verdict.hasReason(MutableSpamVerdict.REASON_SUSPICIOUS_SENDER)) {
+            codes[size] = MutableSpamVerdict.REASON_SUSPICIOUS_SENDER;
+            args[size++] = String.valueOf(verdict.sender);
+        }
+
+        for (int reason : TRAILING_REASONS) {
+            if (verdict.hasReason(reason)) {
+                codes[size++] = reason;
+            }
+        }
+
+        return new SpamExplanation(Arrays.copyOf(codes, size), Arrays.copyOf(args, size), false);
+    }
+
+    private static SpamAnalysisResult emptyResult() {
+        return new SpamAnalysisResult(false, 0.0f, "Empty message", new ArrayList<>(), new ContextAnalysis());
     }
 
     /**
      * Context-aware keyword analysis with message length consideration
      */
-    private static KeywordAnalysisResult analyzeKeywordsWithContext(String trimmedBody, String lowerBody, 
-                                                                   List<String> reasons, Context context) {
+    private static float analyzeKeywordsWithContext(MessageScan scan, SpamRuleSet rules, MutableSpamVerdict out) {
         float baseScore = 0.0f;
         int keywordCount = 0;
-        List<String> foundKeywords = new ArrayList<>();
         
-        List<String> allKeywords = new ArrayList<>(Arrays.asList(TURKISH_GAMBLING_KEYWORDS));
+        KeywordAutomaton automaton = rules.keywordAutomaton;
+        CharSequence lowerBody = scan.lowerBody();
         
-        if (context != null) {
-            List<String> customKeywords = KeywordManager.getInstance(context).getCustomKeywords();
-            allKeywords.addAll(customKeywords);
-        }
+        // Single pass over the body finds every keyword hit, in keyword list order
+        KeywordAutomaton.Hits hits = out.keywordHits;
+        automaton.findAll(lowerBody, hits);
+        out.lowerBodyLength = lowerBody.length();
         
-        // Analyze keywords
-        for (String keyword : allKeywords) {
-            String normalizedKeyword = keyword.toLowerCase(Locale.forLanguageTag("tr"));
+        for (int i = 0; i < hits.count(); i++) {
+            int keywordIndex = hits.get(i);
             
-            if (lowerBody.equals(normalizedKeyword)) {
-                baseScore += 0.8f;
+            // A hit as long as the whole body can only be the body itself
+            if (automaton.keywordLength(keywordIndex) == lowerBody.length()) {
+                baseScore += rules.exactKeywordWeight;
                 keywordCount++;
-                foundKeywords.add(keyword);
-                reasons.add("Exact match: " + keyword);
+                out.reasonMask |= MutableSpamVerdict.REASON_EXACT_KEYWORD;
                 continue;
             }
             
-            if (lowerBody.contains(" " + normalizedKeyword + " ") ||
-                lowerBody.startsWith(normalizedKeyword + " ") ||
-                lowerBody.endsWith(" " + normalizedKeyword) ||
-                lowerBody.contains(normalizedKeyword)) {
-                
-                baseScore += 0.35f;
-                keywordCount++;
-                foundKeywords.add(keyword);
-                if (keywordCount <= 3) {
-                    reasons.add("Spam keyword: " + keyword);
-                }
-            }
+            baseScore += rules.keywordWeight;
+            keywordCount++;
+            out.reasonMask |= MutableSpamVerdict.REASON_KEYWORD;
         }
         
         if (keywordCount >= 3) {
-            baseScore += 0.2f;
-            reasons.add("Multiple spam keywords");
+            baseScore += rules.multipleKeywordsWeight;
+            out.reasonMask |= MutableSpamVerdict.REASON_MULTIPLE_KEYWORDS;
         }
         
         // CONTEXT-AWARE SCORING BASED ON MESSAGE LENGTH
-        int messageLength = trimmedBody.length();
-        String lengthCategory;
-        float contextMultiplier;
-        String contextDescription;
+        int messageLength = scan.trimmedLength();
+        int lengthCategory;
         
         if (messageLength <= SHORT_MESSAGE) {
             // Short messages: keywords have HIGH impact
-            lengthCategory = "Kısa";
-            contextMultiplier = 1.5f;
-            contextDescription = "Kısa mesaj - artırılmış spam skoru";
+            lengthCategory = MutableSpamVerdict.LENGTH_SHORT;
             if (keywordCount > 0) {
-                reasons.add("Kısa mesajda spam kelime - yüksek risk");
+                out.reasonMask |= MutableSpamVerdict.REASON_SHORT_MESSAGE_KEYWORD;
             }
         } else if (messageLength <= MEDIUM_MESSAGE) {
             // Medium messages: keywords have NORMAL impact  
-            lengthCategory = "Orta";
-            contextMultiplier = 1.0f;
-            contextDescription = "Orta mesaj - normal spam skoru";
+            lengthCategory = MutableSpamVerdict.LENGTH_MEDIUM;
         } else {
             // Long messages: keywords have REDUCED impact
-            lengthCategory = "Uzun";
-            contextMultiplier = 0.6f;
-            contextDescription = "Uzun mesaj - azaltılmış spam skoru";
+            lengthCategory = MutableSpamVerdict.LENGTH_LONG;
             if (keywordCount > 0) {
-                reasons.add("Uzun mesajda tek kelime - düşük risk");
+                out.reasonMask |= MutableSpamVerdict.REASON_LONG_MESSAGE_KEYWORD;
             }
         }
+        float contextMultiplier = CONTEXT_MULTIPLIERS[lengthCategory];
         
+        out.messageLength = messageLength;
+        out.keywordCount = keywordCount;
+        out.lengthCategory = lengthCategory;
+        out.contextMultiplier = contextMultiplier;
         // Calculate keyword density
-        float keywordDensity = messageLength > 0 ? (keywordCount * 100.0f) / messageLength : 0.0f;
+        out.keywordDensity = messageLength > 0 ? (keywordCount * 100.0f) / messageLength : 0.0f;
         
         // Apply context multiplier
-        float contextAwareScore = baseScore * contextMultiplier;
-        
-        return new KeywordAnalysisResult(
-            contextAwareScore,
-            keywordCount,
-            keywordDensity,
-            lengthCategory,
-            contextMultiplier,
-            contextDescription
-        );
+        return baseScore * contextMultiplier;
     }
-    
+
     /**
-     * Legacy method for backward compatibility
+     * Current rule snapshot: default + custom keywords when a Context is given, defaults otherwise
      */
-    private static float analyzeKeywords(String trimmedBody, String lowerBody, List<String> reasons, Context context) {
-        KeywordAnalysisResult result = analyzeKeywordsWithContext(trimmedBody, lowerBody, reasons, context);
-        return result.contextAwareScore;
+    public static SpamRuleSet getRuleSet(Context context) {
+        return context != null
+                ? KeywordManager.getInstance(context).getRuleSet()
+                : SpamRuleSet.defaults();
     }
 
-    private static float analyzePatterns(String messageBody, List<String> reasons) {
+    private static float analyzePatterns(CharSequence messageBody, MessageScan scan, SpamRuleSet rules,
+                                         MutableSpamVerdict out) {
         float score = 0.0f;
         
-        for (String pattern : SUSPICIOUS_PATTERNS) {
-            if (Pattern.compile(pattern, Pattern.CASE_INSENSITIVE).matcher(messageBody).find()) {
-                score += 0.15f;
-                reasons.add("Suspicious pattern detected");
+        for (int i = 0; i < rules.suspiciousPatterns.length; i++) {
+            // Skip patterns that need a longer run of digits than the body has
+            if (scan.longestDigitRun < rules.suspiciousPatternMinDigitRun[i]) {
+                continue;
+            }
+            if (out.patternMatcher(i, messageBody).find()) {
+                score += rules.patternWeight;
+                out.reasonMask |= 1 << (MutableSpamVerdict.REASON_PATTERN_SHIFT + i);
             }
         }
         
         return score;
     }
 
-    private static float analyzeSender(String sender, List<String> reasons) {
-        if (sender == null || sender.isEmpty()) {
+    private static float analyzeSender(CharSequence sender, SpamRuleSet rules, MutableSpamVerdict out) {
+        if (sender == null || sender.length() == 0) {
             return 0.0f;
         }
         
         float score = 0.0f;
-        String lowerSender = sender.toLowerCase(new Locale("tr", "TR"));
+        FoldedText lowerSender = out.lowerSender;
+        lowerSender.fold(sender, 0, sender.length());
         
         // Check high-risk sender patterns
-        for (String pattern : HIGH_RISK_SENDERS) {
-            if (Pattern.compile(pattern, Pattern.CASE_INSENSITIVE).matcher(lowerSender).matches()) {
-                score += 0.2f;
-                reasons.add("Suspicious sender: " + sender);
+        for (int i = 0; i < rules.highRiskSenderPatterns.length; i++) {
+            if (out.senderMatcher(i, lowerSender).matches()) {
+                score += rules.suspiciousSenderWeight;
+                out.reasonMask |= MutableSpamVerdict.REASON_SUSPICIOUS_SENDER;
                 break;
             }
         }
         
         // Short numeric sender (common for bulk SMS)
-        if (sender.matches("\\d{4,6}")) {
-            score += 0.15f;
-            reasons.add("Short numeric sender");
+        if (out.shortNumericSenderMatcher(sender).matches()) {
+            score += rules.shortNumericSenderWeight;
+            out.reasonMask |= MutableSpamVerdict.REASON_SHORT_NUMERIC_SENDER;
         }
         
         return score;
     }
 
-    private static float analyzeMessageCharacteristics(String messageBody, List<String> reasons) {
+    private static float analyzeMessageCharacteristics(MessageScan scan, SpamRuleSet rules, MutableSpamVerdict out) {
         float score = 0.0f;
         
         // Very short messages with urgent language
-        if (messageBody.length() < 50 && 
-            (messageBody.toLowerCase().contains("hemen") || 
-             messageBody.toLowerCase().contains("acele") ||
-             messageBody.toLowerCase().contains("son"))) {
-            score += 0.1f;
-            reasons.add("Short urgent message");
+        if (scan.length < 50 && 
+            (scan.lowerContains("hemen") || 
+             scan.lowerContains("acele") ||
+             scan.lowerContains("son"))) {
+            score += rules.characteristicWeight;
+            out.reasonMask |= MutableSpamVerdict.REASON_SHORT_URGENT;
         }
         
         // Excessive punctuation or caps
-        long exclamationCount = messageBody.chars().filter(ch -> ch == '!').count();
-        if (exclamationCount >= 3) {
-            score += 0.1f;
-            reasons.add("Excessive punctuation");
+        if (scan.exclamationCount >= 3) {
+            score += rules.characteristicWeight;
+            out.reasonMask |= MutableSpamVerdict.REASON_EXCESSIVE_PUNCTUATION;
         }
         
         // Count capital letters ratio
-        long upperCount = messageBody.chars().filter(Character::isUpperCase).count();
-        if (messageBody.length() > 10 && (upperCount / (float) messageBody.length()) > 0.5) {
-            score += 0.1f;
-            reasons.add("Excessive capital letters");
+        if (scan.length > 10 && (scan.upperCount / (float) scan.length) > 0.5) {
+            score += rules.characteristicWeight;
+            out.reasonMask |= MutableSpamVerdict.REASON_EXCESSIVE_CAPITALS;
         }
         
         return score;
@@ -319,15 +451,8 @@ public class SpamDetector {
             return false;
         }
         
-        // Common Turkish spam number patterns
-        String[] spamPatterns = {
-            "^0850.*", // 0850 numbers often used for marketing
-            "^444.*",  // 444 short codes
-            "^\\d{4}$" // 4-digit short codes
-        };
-        
-        for (String pattern : spamPatterns) {
-            if (Pattern.matches(pattern, phoneNumber)) {
+        for (Pattern pattern : SpamRuleSet.defaults().knownSpamNumberPatterns) {
+            if (pattern.matcher(phoneNumber).matches()) {
                 return true;
             }
         }
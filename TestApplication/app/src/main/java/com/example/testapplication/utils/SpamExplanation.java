@@ -0,0 +1,105 @@
+package com.example.testapplication.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structured reasons behind a spam verdict: one reason code (a MutableSpamVerdict.REASON_*
+ * bit) and its argument per entry, in display order. Scoring only records codes; the
+ * text is rendered when the UI asks for an explanation.
+ */
+public final class SpamExplanation {
+
+    public static final SpamExplanation NONE = new SpamExplanation(new int[0], new String[0], false);
+    public static final SpamExplanation EMPTY_MESSAGE = new SpamExplanation(new int[0], new String[0], true);
+
+    private static final int MAIN_REASON_COUNT = 3;
+
+    private final int[] codes;
+    // Keyword or sender for the entry, null when the reason has no argument
+    private final String[] args;
+    private final boolean emptyMessage;
+
+    SpamExplanation(int[] codes, String[] args, boolean emptyMessage) {
+        this.codes = codes;
+        this.args = args;
+        this.emptyMessage = emptyMessage;
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public int code(int index) {
+        return codes[index];
+    }
+
+    public String arg(int index) {
+        return args[index];
+    }
+
+    /**
+     * Every reason as display text
+     */
+    public List<String> render() {
+        List<String> reasons = new ArrayList<>(codes.length);
+        for (int i = 0; i < codes.length; i++) {
+            reasons.add(render(codes[i], args[i]));
+        }
+        return reasons;
+    }
+
+    /**
+     * The first few reasons joined for a one-line summary
+     */
+    public String summary() {
+        if (emptyMessage) {
+            return "Empty message";
+        }
+        if (codes.length == 0) {
+            return "No spam indicators";
+        }
+        StringBuilder summary = new StringBuilder();
+        int count = Math.min(MAIN_REASON_COUNT, codes.length);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                summary.append(", ");
+            }
+            summary.append(render(codes[i], args[i]));
+        }
+        return summary.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+
+    private static String render(int code, String arg) {
+        switch (code) {
+            case MutableSpamVerdict.REASON_EXACT_KEYWORD:
+                return "Exact match: " + arg;
+            case MutableSpamVerdict.REASON_KEYWORD:
+                return "Spam keyword: " + arg;
+            case MutableSpamVerdict.REASON_MULTIPLE_KEYWORDS:
+                return "Multiple spam keywords";
+            case MutableSpamVerdict.REASON_SHORT_MESSAGE_KEYWORD:
+                return "Kısa mesajda spam kelime - yüksek risk";
+            case MutableSpamVerdict.REASON_LONG_MESSAGE_KEYWORD:
+                return "Uzun mesajda tek kelime - düşük risk";
+            case MutableSpamVerdict.REASON_SUSPICIOUS_SENDER:
+                return "Suspicious sender: " + arg;
+            case MutableSpamVerdict.REASON_SHORT_NUMERIC_SENDER:
+                return "Short numeric sender";
+            case MutableSpamVerdict.REASON_SHORT_URGENT:
+                return "Short urgent message";
+            case MutableSpamVerdict.REASON_EXCESSIVE_PUNCTUATION:
+                return "Excessive punctuation";
+            case MutableSpamVerdict.REASON_EXCESSIVE_CAPITALS:
+                return "Excessive capital letters";
+            default:
+                // One code per suspicious content pattern
+                return "Suspicious pattern detected";
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.testapplication.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable, fully compiled snapshot of the spam rules: keyword automaton, regex
+ * patterns and scoring weights. Scoring threads read one snapshot and never lock;
+ * a keyword edit compiles a new snapshot and publishes it atomically.
+ */
+public final class SpamRuleSet {
+
+    private static final String[] SUSPICIOUS_PATTERNS = {
+        "\\b\\d{2,}\\s*(TL|₺|lira)", // Money amounts
+        "\\b(www\\.|http|https)", // Links
+        "\\b\\d{2,}\\s*%", // Percentages
+        "\\b(tikla|kayit|kayıt|bonus|hemen|acele)", // Action words
+        "\\b\\d{4}\\s*kod", // Promo codes
+        "\\+\\d{1,3}\\s*\\d{3,}" // International numbers
+    };
+
+    // Shortest run of ASCII digits each suspicious pattern needs before it can match
+    private static final int[] SUSPICIOUS_PATTERN_MIN_DIGIT_RUN = {2, 0, 2, 0, 4, 3};
+
+    private static final String[] HIGH_RISK_SENDERS = {
+        "\\d{4,5}", // Short numeric codes
+        ".*bonus.*",
+        ".*bet.*",
+        ".*casino.*"
+    };
+
+    // Common Turkish spam number patterns
+    private static final String[] KNOWN_SPAM_NUMBERS = {
+        "^0850.*", // 0850 numbers often used for marketing
+        "^444.*",  // 444 short codes
+        "^\\d{4}$" // 4-digit short codes
+    };
+
+    private static final String SHORT_NUMERIC_SENDER = "\\d{4,6}";
+
+    // Scoring weights
+    public final float exactKeywordWeight = 0.8f;
+    public final float keywordWeight = 0.35f;
+    public final float multipleKeywordsWeight = 0.2f;
+    public final float patternWeight = 0.15f;
+    public final float suspiciousSenderWeight = 0.2f;
+    public final float shortNumericSenderWeight = 0.15f;
+    public final float characteristicWeight = 0.1f;
+    public final float spamThreshold = 0.5f;
+
+    // Stable fingerprint of the rule content, identical across restarts for the same rules
+    public final long version;
+    final KeywordAutomaton keywordAutomaton;
+    final Pattern[] suspiciousPatterns;
+    final int[] suspiciousPatternMinDigitRun = SUSPICIOUS_PATTERN_MIN_DIGIT_RUN;
+    final Pattern[] highRiskSenderPatterns;
+    final Pattern[] knownSpamNumberPatterns;
+    final Pattern shortNumericSenderPattern;
+
+    private SpamRuleSet(List<String> keywords) {
+        this.keywordAutomaton = new KeywordAutomaton(keywords);
+        this.suspiciousPatterns = compileAll(SUSPICIOUS_PATTERNS, Pattern.CASE_INSENSITIVE);
+        this.highRiskSenderPatterns = compileAll(HIGH_RISK_SENDERS, Pattern.CASE_INSENSITIVE);
+        this.knownSpamNumberPatterns = compileAll(KNOWN_SPAM_NUMBERS, 0);
+        this.shortNumericSenderPattern = Pattern.compile(SHORT_NUMERIC_SENDER);
+        this.version = fingerprint(keywords);
+    }
+
+    /**
+     * Compile a new snapshot for the given keyword list (defaults + custom, in scoring order)
+     */
+    public static SpamRuleSet compile(List<String> keywords) {
+        return new SpamRuleSet(new ArrayList<>(keywords));
+    }
+
+    /**
+     * Snapshot with only the built-in keywords, for callers without a Context
+     */
+    public static SpamRuleSet defaults() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static final class DefaultHolder {
+        static final SpamRuleSet INSTANCE = compile(SpamDetector.getDefaultKeywords());
+    }
+
+    private static Pattern[] compileAll(String[] patterns, int flags) {
+        Pattern[] compiled = new Pattern[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            compiled[i] = Pattern.compile(patterns[i], flags);
+        }
+        return compiled;
+    }
+
+    private long fingerprint(List<String> keywords) {
+        // Keyword order decides the order of reasons and summaries, so it is hashed too
+        long hash = 0xcbf29ce484222325L; // FNV-1a 64
+        for (String keyword : keywords) {
+            hash = mix(hash, keyword);
+        }
+        for (String pattern : SUSPICIOUS_PATTERNS) {
+            hash = mix(hash, pattern);
+        }
+        for (String pattern : HIGH_RISK_SENDERS) {
+            hash = mix(hash, pattern);
+        }
+        hash = mix(hash, SHORT_NUMERIC_SENDER);
+        float[] weights = {
+            exactKeywordWeight, keywordWeight, multipleKeywordsWeight, patternWeight,
+            suspiciousSenderWeight, shortNumericSenderWeight, characteristicWeight, spamThreshold
+        };
+        for (float weight : weights) {
+            hash = (hash ^ Float.floatToIntBits(weight)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        // Separator so ["ab", "c"] and ["a", "bc"] differ
+        return (hash ^ 0xffff) * 0x100000001b3L;
+    }
+}
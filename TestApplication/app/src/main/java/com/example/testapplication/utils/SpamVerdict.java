@@ -0,0 +1,36 @@
+package com.example.testapplication.utils;
+
+/**
+ * Immutable copy of a finished verdict, safe to cache and share between threads
+ */
+public final class SpamVerdict {
+
+    public final boolean isSpam;
+    public final boolean isEmpty;
+    public final float spamScore;
+    public final int reasonMask;
+    public final long rulesVersion;
+
+    // Context analysis
+    public final int messageLength;
+    public final int keywordCount;
+    public final float keywordDensity;
+    public final int lengthCategory;
+    public final float contextMultiplier;
+
+    public final SpamExplanation explanation;
+
+    SpamVerdict(MutableSpamVerdict verdict, SpamExplanation explanation) {
+        this.isSpam = verdict.isSpam();
+        this.isEmpty = verdict.isEmpty();
+        this.spamScore = verdict.spamScore;
+        this.reasonMask = verdict.reasonMask;
+        this.rulesVersion = verdict.rulesVersion;
+        this.messageLength = verdict.messageLength;
+        this.keywordCount = verdict.keywordCount;
+        this.keywordDensity = verdict.keywordDensity;
+        this.lengthCategory = verdict.lengthCategory;
+        this.contextMultiplier = verdict.contextMultiplier;
+        this.explanation = explanation;
+    }
+}
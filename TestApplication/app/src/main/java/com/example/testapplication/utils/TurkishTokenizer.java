@@ -0,0 +1,62 @@
+package com.example.testapplication.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Splits text into search tokens: runs of letters and digits, folded with Turkish case
+ * rules (I -> ı, İ -> i, also when İ is written as I + combining dot). Used both when
+ * indexing message bodies and when parsing search queries, so both sides fold alike.
+ */
+public final class TurkishTokenizer {
+
+    // Shorter tokens are too common to narrow a search
+    public static final int MIN_TOKEN_LENGTH = 2;
+    // Longer tokens (links, codes) are indexed by their start
+    public static final int MAX_TOKEN_LENGTH = 32;
+
+    private static final char COMBINING_DOT_ABOVE = '\u0307';
+
+    private TurkishTokenizer() {
+    }
+
+    /**
+     * Distinct tokens of the text, in order of first appearance
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        StringBuilder token = new StringBuilder(MAX_TOKEN_LENGTH);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == 'I' && i + 1 < text.length() && text.charAt(i + 1) == COMBINING_DOT_ABOVE) {
+                append(token, 'i');
+                i++;
+            } else if (Character.isLetterOrDigit(c)) {
+                append(token, FoldedText.fold(c));
+            } else if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                // Accents written as combining marks do not split a word
+            } else {
+                flush(token, tokens);
+            }
+        }
+        flush(token, tokens);
+        return tokens;
+    }
+
+    private static void append(StringBuilder token, char c) {
+        if (token.length() < MAX_TOKEN_LENGTH) {
+            token.append(c);
+        }
+    }
+
+    private static void flush(StringBuilder token, Set<String> tokens) {
+        if (token.length() >= MIN_TOKEN_LENGTH) {
+            tokens.add(token.toString());
+        }
+        token.setLength(0);
+    }
+}
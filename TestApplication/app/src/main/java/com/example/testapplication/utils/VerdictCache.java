@@ -0,0 +1,156 @@
+package com.example.testapplication.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of spam verdicts keyed by (body hash, sender, rules version).
+ * Serves one-off analyses (message details, display models), where the same campaign
+ * body is looked up again and again; bulk scans score into a reused MutableSpamVerdict
+ * and do not go through the cache. Entries keep the body to rule out hash collisions.
+ * Thread-safe.
+ */
+public final class VerdictCache {
+
+    public static final int DEFAULT_CAPACITY = 2048;
+
+    private final int capacity;
+    private final Map<Key, CachedVerdict> entries;
+    // Lookup key reused under the lock, so hits allocate nothing
+    private final Key probe = new Key();
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long invalidationCount;
+
+    public VerdictCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, CachedVerdict>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedVerdict> eldest) {
+                if (size() > VerdictCache.this.capacity) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized SpamVerdict get(CharSequence body, CharSequence sender, long rulesVersion) {
+        probe.set(hash(body), sender != null ? sender.toString() : null, rulesVersion);
+        CachedVerdict entry = entries.get(probe);
+        if (entry != null && entry.body.contentEquals(body)) {
+            hitCount++;
+            return entry.verdict;
+        }
+        missCount++;
+        return null;
+    }
+
+    public synchronized void put(CharSequence body, CharSequence sender, SpamVerdict verdict) {
+        Key key = new Key();
+        key.set(hash(body), sender != null ? sender.toString() : null, verdict.rulesVersion);
+        entries.put(key, new CachedVerdict(body.toString(), verdict));
+    }
+
+    /**
+     * Drop every entry, e.g. after the keyword list changed
+     */
+    public synchronized void invalidateAll() {
+        if (!entries.isEmpty()) {
+            invalidationCount++;
+            entries.clear();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public synchronized float getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups > 0 ? hitCount / (float) lookups : 0.0f;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "VerdictCache{" +
+                "size=" + entries.size() +
+                ", capacity=" + capacity +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                ", invalidations=" + invalidationCount +
+                '}';
+    }
+
+    private static long hash(CharSequence body) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a 64
+        for (int i = 0; i < body.length(); i++) {
+            hash = (hash ^ body.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static final class Key {
+        long bodyHash;
+        String sender;
+        long rulesVersion;
+
+        void set(long bodyHash, String sender, long rulesVersion) {
+            this.bodyHash = bodyHash;
+            this.sender = sender;
+            this.rulesVersion = rulesVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return bodyHash == other.bodyHash
+                    && rulesVersion == other.rulesVersion
+                    && (sender != null ? sender.equals(other.sender) : other.sender == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = (int) (bodyHash ^ (bodyHash >>> 32));
+            result = 31 * result + (sender != null ? sender.hashCode() : 0);
+            result = 31 * result + (int) (rulesVersion ^ (rulesVersion >>> 32));
+            return result;
+        }
+    }
+
+    private static final class CachedVerdict {
+        final String body;
+        final SpamVerdict verdict;
+
+        CachedVerdict(String body, SpamVerdict verdict) {
+            this.body = body;
+            this.verdict = verdict;
+        }
+    }
+}
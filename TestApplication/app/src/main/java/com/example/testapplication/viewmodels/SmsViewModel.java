@@ -8,6 +8,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.testapplication.data.MessageColumns;
 import com.example.testapplication.models.SmsMessage;
 import com.example.testapplication.repositories.SmsRepository;
 import com.example.testapplication.utils.SmsHelper;
@@ -40,6 +41,23 @@ public class SmsViewModel extends AndroidViewModel {
     // Filter LiveData
     private final MutableLiveData<SmsFilter> currentFilter;
     private final MediatorLiveData<List<SmsMessage>> filteredMessages;
+    
+    // Paged main list: filtered rows over the whole snapshot instead of a capped list
+    private final LiveData<MessageColumns> messageColumns;
+    private final MediatorLiveData<MessageRows> pagedMessages;
+    
+    /**
+     * Rows of a snapshot shown by the main list, newest first
+     */
+    public static class MessageRows {
+        public final MessageColumns columns;
+        public final int[] rows;
+        
+        MessageRows(MessageColumns columns, int[] rows) {
+            this.columns = columns;
+            this.rows = rows;
+        }
+    }
 
     public SmsViewModel(@NonNull Application application) {
         super(application);
@@ -53,6 +71,7 @@ public class SmsViewModel extends AndroidViewModel {
         statistics = repository.getStatistics();
         isLoading = repository.getIsLoading();
         errorMessage = repository.getErrorMessage();
+        messageColumns = repository.getMessageColumns();
         
         // Setup computed LiveData
         statusText = new MediatorLiveData<>();
@@ -61,9 +80,11 @@ public class SmsViewModel extends AndroidViewModel {
         // Setup filter LiveData
         currentFilter = new MutableLiveData<>(SmsFilter.ALL);
         filteredMessages = new MediatorLiveData<>();
+        pagedMessages = new MediatorLiveData<>();
         
         setupComputedLiveData();
         setupFilteredMessages();
+        setupPagedMessages();
         
         // Load initial data
         refreshData();
@@ -85,6 +106,34 @@ public class SmsViewModel extends AndroidViewModel {
         filteredMessages.addSource(currentFilter, filter -> applyFilter());
     }
     
+    private void setupPagedMessages() {
+        pagedMessages.addSource(messageColumns, columns -> applyPagedFilter());
+        pagedMessages.addSource(currentFilter, filter -> applyPagedFilter());
+    }
+    
+    private void applyPagedFilter() {
+        MessageColumns columns = messageColumns.getValue();
+        SmsFilter filter = currentFilter.getValue();
+        
+        if (columns == null || filter == null) {
+            return;
+        }
+        
+        int[] rows;
+        switch (filter) {
+            case SPAM_ONLY:
+                rows = columns.rowsBySpam(true, 0);
+                break;
+            case NORMAL_ONLY:
+                rows = columns.rowsBySpam(false, 0);
+                break;
+            default:
+                rows = columns.newest(0);
+                break;
+        }
+        pagedMessages.setValue(new MessageRows(columns, rows));
+    }
+    
     private void applyFilter() {
         List<SmsMessage> messages = allMessages.getValue();
         SmsFilter filter = currentFilter.getValue();
@@ -149,6 +198,10 @@ public class SmsViewModel extends AndroidViewModel {
         return filteredMessages;
     }
     
+    public LiveData<MessageRows> getPagedMessages() {
+        return pagedMessages;
+    }
+    
     public LiveData<SmsFilter> getCurrentFilter() {
         return currentFilter;
     }
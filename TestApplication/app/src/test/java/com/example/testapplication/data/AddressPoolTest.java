@@ -0,0 +1,46 @@
+package com.example.testapplication.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AddressPoolTest {
+
+    @Test
+    public void spellingsOfOneSenderShareAnId() {
+        AddressPool pool = new AddressPool();
+        int id = pool.intern("+905321234567");
+        assertEquals(id, pool.intern("0532 123 45 67"));
+        assertEquals(id, pool.intern("5321234567"));
+        assertEquals("+905321234567", pool.get(id));
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void rawSpellingsAreKeptInFirstSeenOrder() {
+        AddressPool pool = new AddressPool();
+        int id = pool.intern("Turkcell");
+        pool.intern("TURKCELL");
+        pool.intern("Turkcell");
+        pool.intern("turkcell");
+
+        assertArrayEquals(new String[]{"Turkcell", "TURKCELL", "turkcell"}, pool.spellings(id));
+        assertArrayEquals(new String[]{"Turkcell", "TURKCELL", "turkcell"}, pool.spellingsOf("tURKCELL"));
+    }
+
+    @Test
+    public void unknownSendersHaveNoSpellings() {
+        AddressPool pool = new AddressPool();
+        pool.intern("0532 123 45 67");
+        assertEquals(0, pool.spellingsOf("2222").length);
+        assertEquals(-1, pool.find("2222"));
+    }
+
+    @Test
+    public void spellingsAreCopies() {
+        AddressPool pool = new AddressPool();
+        int id = pool.intern("0532-123-45-67");
+        pool.spellings(id)[0] = "changed";
+        assertArrayEquals(new String[]{"0532-123-45-67"}, pool.spellings(id));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.testapplication.data;
+
+import com.example.testapplication.models.SmsMessage;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.Assert.*;
+
+public class DailyStatsTest {
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final LocalDate today = LocalDate.now(zone);
+    private final MessageColumns.Builder builder = new MessageColumns.Builder(new AddressPool());
+    private long nextId = 1;
+
+    private long startOf(LocalDate day) {
+        return day.atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    private long endOf(LocalDate day) {
+        return startOf(day.plusDays(1)) - 1;
+    }
+
+    private void add(long date, int type, boolean spam) {
+        SmsMessage message = new SmsMessage(nextId++, 1, "2222", "", date, type);
+        message.isSpam = spam;
+        builder.append(message);
+    }
+
+    private void spam(long date) {
+        add(date, 1, true);
+    }
+
+    private DailyStats build() {
+        DailyStats stats = new DailyStats();
+        stats.rebuild(builder.build());
+        return stats;
+    }
+
+    @Test
+    public void dailyBucketsEndWithToday() {
+        spam(startOf(today));
+        spam(endOf(today));
+        spam(endOf(today.minusDays(1)));
+        spam(startOf(today.minusDays(1)));
+        spam(startOf(today.minusDays(4)));
+        add(startOf(today.minusDays(2)), 1, false);
+
+        assertArrayEquals(new int[]{0, 1, 0, 0, 2, 2}, build().getDailySpam(6));
+    }
+
+    @Test
+    public void dailyBucketsStartAtTheFirstDay() {
+        spam(startOf(today.minusDays(6)));
+        spam(endOf(today.minusDays(7)));
+
+        assertArrayEquals(new int[]{1, 0, 0, 0, 0, 0, 0}, build().getDailySpam(7));
+    }
+
+    @Test
+    public void weeklyBucketsAreSevenDaysEndingToday() {
+        spam(endOf(today));
+        spam(startOf(today.minusDays(6)));
+        spam(endOf(today.minusDays(7)));
+        spam(startOf(today.minusDays(13)));
+        spam(endOf(today.minusDays(14)));
+
+        assertArrayEquals(new int[]{2, 2}, build().getWeeklySpam(2));
+    }
+
+    @Test
+    public void futureMessagesAreNotInAnyBucket() {
+        spam(startOf(today.plusDays(1)));
+
+        assertArrayEquals(new int[]{0, 0, 0}, build().getDailySpam(3));
+        assertArrayEquals(new int[]{0}, build().getWeeklySpam(1));
+    }
+
+    @Test
+    public void countsByTypeAndDay() {
+        add(startOf(today), 1, true);
+        add(endOf(today), 2, false);
+        add(endOf(today.minusDays(1)), 1, false);
+
+        DailyStats stats = build();
+        DailyStats.Counts totals = stats.getTotals();
+        assertEquals(3, totals.total);
+        assertEquals(2, totals.inbox);
+        assertEquals(1, totals.sent);
+        assertEquals(1, totals.spam);
+
+        DailyStats.Counts todayCounts = stats.getToday();
+        assertEquals(2, todayCounts.total);
+        assertEquals(1, todayCounts.inbox);
+        assertEquals(1, todayCounts.sent);
+        assertEquals(1, todayCounts.spam);
+    }
+
+    @Test
+    public void removedRowsLeaveTheirBuckets() {
+        spam(startOf(today));
+        spam(startOf(today.minusDays(1)));
+        MessageColumns columns = builder.build();
+
+        DailyStats stats = new DailyStats();
+        for (int row = 0; row < columns.size(); row++) {
+            stats.add(columns, row);
+        }
+        stats.remove(columns, 0);
+
+        assertArrayEquals(new int[]{1, 0}, stats.getDailySpam(2));
+        assertEquals(0, stats.getToday().total);
+        assertEquals(1, stats.getTotals().spam);
+    }
+}
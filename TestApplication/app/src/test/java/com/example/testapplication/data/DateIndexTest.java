@@ -0,0 +1,87 @@
+package com.example.testapplication.data;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DateIndexTest {
+
+    // Newest first, with ties on 300 and 100
+    private final DateIndex index = new DateIndex(
+            new long[]{500, 300, 300, 300, 200, 100, 100, 0, 0},
+            new long[]{9, 8, 7, 6, 5, 4, 3, -1, -1},
+            7);
+
+    @Test
+    public void boundsAreInclusive() {
+        assertEquals(6, index.count(100, 300));
+        assertArrayEquals(new long[]{8, 7, 6, 5, 4, 3}, index.ids(100, 300));
+        assertArrayEquals(new long[]{9}, index.ids(500, 500));
+        assertArrayEquals(new long[]{4, 3}, index.ids(100, 100));
+    }
+
+    @Test
+    public void rangesBetweenDatesAreEmpty() {
+        assertEquals(0, index.count(301, 499));
+        assertEquals(0, index.ids(301, 499).length);
+        assertEquals(0, index.count(501, Long.MAX_VALUE));
+        assertEquals(0, index.count(Long.MIN_VALUE, 99));
+    }
+
+    @Test
+    public void invertedRangesAreEmpty() {
+        assertEquals(0, index.count(300, 100));
+        assertEquals(0, index.ids(300, 100).length);
+    }
+
+    @Test
+    public void tiesAreAllIncluded() {
+        assertEquals(3, index.count(300, 300));
+        assertArrayEquals(new long[]{8, 7, 6}, index.ids(300, 300));
+        assertArrayEquals(new long[]{8, 7, 6, 5}, index.ids(200, 499));
+    }
+
+    @Test
+    public void unboundedRangeCoversOnlyTheFilledSize() {
+        assertEquals(7, index.size());
+        assertEquals(7, index.count(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertArrayEquals(new long[]{9, 8, 7, 6, 5, 4, 3}, index.ids(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void emptyIndex() {
+        DateIndex empty = new DateIndex(new long[0], new long[0], 0);
+        assertEquals(0, empty.count(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(0, empty.ids(Long.MIN_VALUE, Long.MAX_VALUE).length);
+    }
+
+    @Test
+    public void matchesALinearScan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(40);
+            long[] dates = new long[size];
+            long[] ids = new long[size];
+            long date = 1000;
+            for (int i = 0; i < size; i++) {
+                date -= random.nextInt(3);
+                dates[i] = date;
+                ids[i] = size - i;
+            }
+            DateIndex randomIndex = new DateIndex(dates, ids, size);
+
+            long start = 900 + random.nextInt(120);
+            long end = 900 + random.nextInt(120);
+            int expected = 0;
+            for (long d : dates) {
+                if (d >= start && d <= end) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, randomIndex.count(start, end));
+            assertEquals(expected, randomIndex.ids(start, end).length);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.testapplication.data;
+
+import com.example.testapplication.models.SmsMessage;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SenderStatsTest {
+
+    private long nextId = 1000;
+
+    // Rows newest first, as the inbox mirror holds them
+    private MessageColumns columns(String... rows) {
+        MessageColumns.Builder builder = new MessageColumns.Builder(new AddressPool());
+        long date = 1_000_000L;
+        for (String row : rows) {
+            boolean spam = row.startsWith("!");
+            SmsMessage message = new SmsMessage(nextId--, 1, spam ? row.substring(1) : row, "", date--, 1);
+            message.isSpam = spam;
+            builder.append(message);
+        }
+        return builder.build();
+    }
+
+    private static void assertEntry(List<SenderStats.Entry> top, int index, int addressId, int total, int spam) {
+        SenderStats.Entry entry = top.get(index);
+        assertEquals("addressId at " + index, addressId, entry.addressId);
+        assertEquals("totalCount at " + index, total, entry.totalCount);
+        assertEquals("spamCount at " + index, spam, entry.spamCount);
+    }
+
+    @Test
+    public void mostMessagesFirst() {
+        MessageColumns columns = columns("2222", "0532 111 11 11", "2222", "!BAHIS", "2222", "!BAHIS");
+        SenderStats stats = new SenderStats();
+        stats.rebuild(columns);
+
+        List<SenderStats.Entry> top = stats.top(10);
+        assertEquals(3, top.size());
+        assertEquals(3, stats.getSenderCount());
+        assertEntry(top, 0, 0, 3, 0);
+        assertEntry(top, 1, 2, 2, 2);
+        assertEntry(top, 2, 1, 1, 0);
+    }
+
+    @Test
+    public void tiesKeepTheSenderSeenFirst() {
+        MessageColumns columns = columns("A", "B", "C", "D", "D", "C", "B", "A");
+        SenderStats stats = new SenderStats();
+        stats.rebuild(columns);
+
+        List<SenderStats.Entry> top = stats.top(4);
+        for (int i = 0; i < 4; i++) {
+            assertEntry(top, i, i, 2, 0);
+        }
+    }
+
+    @Test
+    public void tiesAtTheLimitKeepTheLowerIds() {
+        MessageColumns columns = columns("A", "B", "C", "D", "E", "E", "D");
+        SenderStats stats = new SenderStats();
+        stats.rebuild(columns);
+
+        List<SenderStats.Entry> top = stats.top(3);
+        assertEquals(3, top.size());
+        assertEntry(top, 0, 3, 2, 0);
+        assertEntry(top, 1, 4, 2, 0);
+        assertEntry(top, 2, 0, 1, 0);
+    }
+
+    @Test
+    public void spellingsOfOneNumberAreOneSender() {
+        MessageColumns columns = columns("+905321234567", "0532 123 45 67", "!5321234567");
+        SenderStats stats = new SenderStats();
+        stats.rebuild(columns);
+
+        assertEquals(1, stats.getSenderCount());
+        assertEntry(stats.top(5), 0, 0, 3, 1);
+    }
+
+    @Test
+    public void incrementalUpdatesMatchARebuild() {
+        MessageColumns columns = columns("A", "!B", "A", "C", "!B", "!B", "C");
+        SenderStats incremental = new SenderStats();
+        for (int row = 0; row < columns.size(); row++) {
+            incremental.add(columns, row);
+        }
+        incremental.remove(columns, 1);
+        incremental.remove(columns, 3);
+        incremental.remove(columns, 6);
+
+        MessageColumns remaining = columns("A", "A", "!B", "!B");
+        SenderStats rebuilt = new SenderStats();
+        rebuilt.rebuild(remaining);
+
+        assertEquals(2, incremental.getSenderCount());
+        assertEquals(rebuilt.getSenderCount(), incremental.getSenderCount());
+        List<SenderStats.Entry> top = incremental.top(5);
+        List<SenderStats.Entry> expected = rebuilt.top(5);
+        assertEquals(expected.size(), top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEntry(top, i, expected.get(i).addressId, expected.get(i).totalCount, expected.get(i).spamCount);
+        }
+    }
+
+    @Test
+    public void topIsRecomputedAfterChanges() {
+        MessageColumns columns = columns("A", "B", "B");
+        SenderStats stats = new SenderStats();
+        stats.rebuild(columns);
+        assertEntry(stats.top(1), 0, 1, 2, 0);
+
+        stats.add(columns, 0);
+        stats.add(columns, 0);
+        assertEntry(stats.top(1), 0, 0, 3, 0);
+    }
+
+    @Test
+    public void rebuildForgetsEarlierCounts() {
+        SenderStats stats = new SenderStats();
+        stats.rebuild(columns("A", "A", "B"));
+        stats.rebuild(columns("C"));
+
+        assertEquals(1, stats.getSenderCount());
+        List<SenderStats.Entry> top = stats.top(5);
+        assertEquals(1, top.size());
+        assertEntry(top, 0, 0, 1, 0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class AddressNormalizerTest {
+
+    private final AddressNormalizer normalizer = AddressNormalizer.getDefault();
+
+    @Test
+    public void turkishMobileSpellingsShareOneForm() {
+        assertEquals("+905321234567", normalizer.normalize("+905321234567"));
+        assertEquals("+905321234567", normalizer.normalize("905321234567"));
+        assertEquals("+905321234567", normalizer.normalize("05321234567"));
+        assertEquals("+905321234567", normalizer.normalize("5321234567"));
+        assertEquals("+905321234567", normalizer.normalize("00905321234567"));
+    }
+
+    @Test
+    public void separatorsAreIgnored() {
+        assertEquals("+905321234567", normalizer.normalize(" 0532 123 45 67 "));
+        assertEquals("+905321234567", normalizer.normalize("0532-123-45-67"));
+        assertEquals("+905321234567", normalizer.normalize("+90 (532) 123 45 67"));
+    }
+
+    @Test
+    public void foreignNumbersKeepTheirCountryCode() {
+        assertEquals("+4915112345678", normalizer.normalize("+49 151 12345678"));
+        assertEquals("+4915112345678", normalizer.normalize("004915112345678"));
+    }
+
+    @Test
+    public void shortCodesStayPlainDigits() {
+        assertEquals("2222", normalizer.normalize("2222"));
+        assertEquals("4440444", normalizer.normalize("444 0 444"));
+    }
+
+    @Test
+    public void alphanumericSendersIgnoreCase() {
+        assertEquals("TURKCELL", normalizer.normalize("Turkcell"));
+        assertEquals("TURKCELL", normalizer.normalize("turkcell"));
+        assertEquals("A101", normalizer.normalize("A101"));
+    }
+
+    @Test
+    public void missingAddressesAreEmpty() {
+        assertEquals("", normalizer.normalize(null));
+        assertEquals("", normalizer.normalize("   "));
+    }
+
+    @Test
+    public void homeNumbersHaveEveryStoredSpelling() {
+        assertEquals(Arrays.asList("+905321234567", "905321234567", "05321234567", "5321234567"),
+                Arrays.asList(normalizer.variants("0532 123 45 67")));
+    }
+
+    @Test
+    public void otherAddressesHaveOnlyTheCanonicalForm() {
+        assertArrayEquals(new String[]{"2222"}, normalizer.variants("2222"));
+        assertArrayEquals(new String[]{"TURKCELL"}, normalizer.variants("Turkcell"));
+    }
+}
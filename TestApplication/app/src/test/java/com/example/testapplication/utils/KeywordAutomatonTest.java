@@ -0,0 +1,99 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * KeywordAutomaton must find exactly the keywords the old per-keyword
+ * {@code lowerBody.contains(keyword)} loop in analyzeKeywords found, in keyword list order.
+ */
+public class KeywordAutomatonTest {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    @Test
+    public void findsOverlappingAndNestedKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(Arrays.asList("he", "she", "his", "hers"));
+        assertEquals(Arrays.asList("he", "she", "hers"), find(automaton, "ushers"));
+    }
+
+    @Test
+    public void reportsEachKeywordOnceInListOrder() {
+        KeywordAutomaton automaton = new KeywordAutomaton(Arrays.asList("slot", "bet", "bonus"));
+        assertEquals(Arrays.asList("slot", "bet", "bonus"), find(automaton, "bonus bonus bet slot bet"));
+    }
+
+    @Test
+    public void matchesMultiWordAndTurkishKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(SpamDetector.getDefaultKeywords());
+        String body = "Deneme Bonusu ile HEMEN yatır, kazanç garanti".toLowerCase(TURKISH);
+        assertEquals(legacyMatches(SpamDetector.getDefaultKeywords(), body), find(automaton, body));
+    }
+
+    @Test
+    public void keywordsAreLowercasedWithTurkishRules() {
+        KeywordAutomaton automaton = new KeywordAutomaton(Arrays.asList("KAZANIN", "İNDİRİM"));
+        assertEquals(Arrays.asList("KAZANIN", "İNDİRİM"), find(automaton, "hemen kazanın, indirim"));
+        assertEquals("indirim".length(), automaton.keywordLength(1));
+    }
+
+    @Test
+    public void emptyKeywordNeverMatches() {
+        KeywordAutomaton automaton = new KeywordAutomaton(Arrays.asList("", "bet"));
+        assertEquals(Arrays.asList("bet"), find(automaton, "bet"));
+        assertTrue(find(automaton, "").isEmpty());
+    }
+
+    @Test
+    public void agreesWithLegacyContainsLoopOnRandomText() {
+        List<String> keywords = new ArrayList<>(SpamDetector.getDefaultKeywords());
+        keywords.addAll(Arrays.asList("ab", "aba", "bab", "a", "ışık", "çark"));
+        KeywordAutomaton automaton = new KeywordAutomaton(keywords);
+
+        String alphabet = "abıışkçr etslonuzy";
+        Random random = new Random(42);
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                if (random.nextInt(8) == 0) {
+                    String keyword = keywords.get(random.nextInt(keywords.size()));
+                    text.append(keyword.toLowerCase(TURKISH));
+                } else {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            String body = text.toString();
+            assertEquals(body, legacyMatches(keywords, body), find(automaton, body));
+        }
+    }
+
+    private static List<String> find(KeywordAutomaton automaton, String lowerBody) {
+        KeywordAutomaton.Hits hits = new KeywordAutomaton.Hits();
+        automaton.findAll(lowerBody, hits);
+        List<String> found = new ArrayList<>();
+        for (int i = 0; i < hits.count(); i++) {
+            found.add(automaton.keyword(hits.get(i)));
+        }
+        return found;
+    }
+
+    // The keyword test of the original analyzeKeywords loop
+    private static List<String> legacyMatches(List<String> keywords, String lowerBody) {
+        List<String> found = new ArrayList<>();
+        for (String keyword : keywords) {
+            String normalizedKeyword = keyword.toLowerCase(TURKISH);
+            if (!normalizedKeyword.isEmpty() && lowerBody.contains(normalizedKeyword)) {
+                found.add(keyword);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * MessageScan must agree with the String operations the scoring stages used before:
+ * trim(), toLowerCase(tr) and the per-stage character counts.
+ */
+public class MessageScanTest {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    @Test
+    public void foldsWithTurkishRules() {
+        assertEquals("ılık iğne ıspanak", lower("  ILIK İĞNE Ispanak \n"));
+    }
+
+    @Test
+    public void contextDependentCharactersTakeTheLocalePath() {
+        // I + combining dot above and a word-final capital sigma
+        String body = "İndirim ΟΔΟΣ";
+        assertEquals(body.toLowerCase(TURKISH), lower(body));
+    }
+
+    @Test
+    public void countsAndTrimBounds() {
+        MessageScan scan = new MessageScan();
+        scan.scan("  KAZAN!! 500 TL, kod 1234 ");
+        assertEquals(2, scan.trimStart);
+        assertEquals(26, scan.trimEnd);
+        assertEquals(24, scan.trimmedLength());
+        assertEquals(2, scan.exclamationCount);
+        assertEquals(7, scan.upperCount);
+        assertEquals(2, scan.digitRunCount);
+        assertEquals(4, scan.longestDigitRun);
+        assertTrue(scan.lowerContains("kazan"));
+        assertFalse(scan.lowerContains("KAZAN"));
+    }
+
+    @Test
+    public void blankBody() {
+        MessageScan scan = new MessageScan();
+        scan.scan(" \t\n ");
+        assertTrue(scan.isBlank());
+        assertEquals(0, scan.lowerBody().length());
+    }
+
+    @Test
+    public void reuseDoesNotLeakThePreviousMessage() {
+        MessageScan scan = new MessageScan();
+        scan.scan("ÇOK UZUN BİR MESAJ 123456");
+        scan.scan("ok");
+        assertEquals("ok", scan.lowerBody().toString());
+        assertEquals(0, scan.upperCount);
+        assertEquals(0, scan.longestDigitRun);
+    }
+
+    @Test
+    public void agreesWithStringOperationsOnRandomText() {
+        String alphabet = "aAıIiİşŞçÇğĞöÖüÜ 0123!\t\u0307\u03A3";
+        Random random = new Random(7);
+        MessageScan scan = new MessageScan();
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(300);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String body = text.toString();
+            scan.scan(body);
+            assertEquals(body, body.trim().length(), scan.trimmedLength());
+            assertEquals(body, body.trim().toLowerCase(TURKISH), scan.lowerBody().toString());
+            assertEquals(body, body.length() - body.replace("!", "").length(), scan.exclamationCount);
+        }
+    }
+
+    private static String lower(String body) {
+        MessageScan scan = new MessageScan();
+        scan.scan(body);
+        return scan.lowerBody().toString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SmsSelectionTest {
+
+    private static int placeholders(String selection) {
+        int count = 0;
+        for (int i = 0; i < selection.length(); i++) {
+            if (selection.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void assertArgsMatch(String selection, String[] args) {
+        assertEquals(placeholders(selection), args != null ? args.length : 0);
+    }
+
+    @Test
+    public void spamFlagIsWrittenInline() {
+        SmsSelection spam = SmsSelection.all().spam(true);
+        assertEquals("(flags & 1) = 1", spam.indexSelection());
+        assertNull(spam.indexSelectionArgs());
+
+        SmsSelection normal = SmsSelection.all().spam(false);
+        assertEquals("(flags & 1) = 0", normal.indexSelection());
+        assertNull(normal.indexSelectionArgs());
+    }
+
+    @Test
+    public void spamInRangeFromSender() {
+        SmsSelection filter = SmsSelection.all().spam(true).dateRange(100, 200).sender("0532 123 45 67");
+        String selection = filter.indexSelection();
+        String[] args = filter.indexSelectionArgs();
+
+        assertTrue(selection.startsWith("(flags & 1) = 1 AND date >= ? AND date <= ? AND address_id = "));
+        assertArrayEquals(new String[]{"100", "200", "+905321234567"}, args);
+        assertArgsMatch(selection, args);
+    }
+
+    @Test
+    public void noPredicatesMeansNoSelection() {
+        assertNull(SmsSelection.all().indexSelection());
+        assertNull(SmsSelection.all().indexSelectionArgs());
+        assertNull(SmsSelection.all().providerSelection());
+        assertNull(SmsSelection.all().providerSelectionArgs());
+    }
+
+    @Test
+    public void providerSelectionHasAnArgPerPlaceholder() {
+        SmsSelection filter = SmsSelection.all().sender("05321234567").dateRange(100, 200).type(SmsSelection.TYPE_INBOX);
+        String selection = filter.providerSelection();
+        String[] args = filter.providerSelectionArgs();
+
+        assertTrue(selection.startsWith("address IN ("));
+        assertTrue(selection.endsWith(") AND date >= ? AND date <= ? AND type = ?"));
+        assertArgsMatch(selection, args);
+        assertEquals("1", args[args.length - 1]);
+    }
+}
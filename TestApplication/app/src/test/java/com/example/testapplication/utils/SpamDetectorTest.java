@@ -0,0 +1,43 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SpamDetectorTest {
+
+    private static final String[] BODIES = {
+            "Deneme bonusu için hemen tıkla www.site.com 500 TL!!!",
+            "BONUS KAZAN",
+            "Merhaba, yarın toplantı saat 10'da. Gelirken raporları da getirir misin? Teşekkürler, iyi akşamlar dilerim.",
+            "   ",
+            ""
+    };
+
+    @Test
+    public void contextAnalysisMatchesTheFullAnalysis() {
+        SpamRuleSet rules = SpamRuleSet.defaults();
+        // One holder for every body, as display rows reuse it per thread
+        MutableSpamVerdict scratch = new MutableSpamVerdict();
+        for (String body : BODIES) {
+            SpamDetector.ContextAnalysis context = SpamDetector.analyzeContext(body, rules, scratch);
+            SpamDetector.SpamAnalysisResult full = SpamDetector.analyzeMessage(body, "4444");
+            if (body.trim().isEmpty()) {
+                assertNull(body, context);
+                continue;
+            }
+            SpamDetector.ContextAnalysis expected = full.contextAnalysis;
+            assertEquals(body, expected.messageLength, context.messageLength);
+            assertEquals(body, expected.keywordCount, context.keywordCount);
+            assertEquals(body, expected.keywordDensity, context.keywordDensity, 0.0f);
+            assertEquals(body, expected.lengthCategory, context.lengthCategory);
+            assertEquals(body, expected.contextMultiplier, context.contextMultiplier, 0.0f);
+            assertEquals(body, expected.contextDescription, context.contextDescription);
+        }
+    }
+
+    @Test
+    public void missingBodyHasNoContextAnalysis() {
+        assertNull(SpamDetector.analyzeContext(null, SpamRuleSet.defaults(), new MutableSpamVerdict()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reasons are recorded as codes during scoring and rendered to the same text the
+ * string-building detector produced.
+ */
+public class SpamExplanationTest {
+
+    @Test
+    public void rendersReasonsInReportOrder() {
+        SpamDetector.SpamAnalysisResult result = SpamDetector.analyzeMessage(
+                "Deneme bonusu için hemen tıkla www.site.com 500 TL!!!", "4444");
+        assertEquals(Arrays.asList(
+                "Spam keyword: bonus",
+                "Spam keyword: deneme bonusu",
+                "Suspicious pattern detected",
+                "Suspicious pattern detected",
+                "Suspicious pattern detected",
+                "Suspicious sender: 4444",
+                "Short numeric sender",
+                "Excessive punctuation"), result.detectionReasons);
+        assertEquals("Spam keyword: bonus, Spam keyword: deneme bonusu, Suspicious pattern detected",
+                result.reason);
+    }
+
+    @Test
+    public void exactMatchOnShortMessage() {
+        SpamDetector.SpamAnalysisResult result = SpamDetector.analyzeMessage("Bonus", "Ali");
+        assertTrue(result.isSpam);
+        assertEquals("Exact match: bonus", result.detectionReasons.get(0));
+        assertEquals("Kısa mesajda spam kelime - yüksek risk", result.detectionReasons.get(1));
+    }
+
+    @Test
+    public void keywordReasonsFollowKeywordOrder() {
+        MutableSpamVerdict verdict = new MutableSpamVerdict();
+        SpamDetector.analyzeInto("slot ve rulet", "Ali", SpamRuleSet.compile(Arrays.asList("slot", "rulet")), verdict);
+        assertEquals(Arrays.asList("Spam keyword: slot", "Spam keyword: rulet"),
+                SpamDetector.explain(verdict).render().subList(0, 2));
+
+        SpamDetector.analyzeInto("slot ve rulet", "Ali", SpamRuleSet.compile(Arrays.asList("rulet", "slot")), verdict);
+        assertEquals(Arrays.asList("Spam keyword: rulet", "Spam keyword: slot"),
+                SpamDetector.explain(verdict).render().subList(0, 2));
+    }
+
+    @Test
+    public void codesCarryTheirArguments() {
+        MutableSpamVerdict verdict = new MutableSpamVerdict();
+        SpamDetector.analyzeInto("bahis", "Ali", SpamRuleSet.compile(Collections.singletonList("bahis")), verdict);
+        SpamExplanation explanation = SpamDetector.explain(verdict);
+        assertEquals(MutableSpamVerdict.REASON_EXACT_KEYWORD, explanation.code(0));
+        assertEquals("bahis", explanation.arg(0));
+        assertTrue(verdict.hasReason(MutableSpamVerdict.REASON_EXACT_KEYWORD));
+    }
+
+    @Test
+    public void emptyAndCleanMessages() {
+        assertEquals("Empty message", SpamDetector.analyzeMessage("  ", "Ali").reason);
+        assertEquals("Empty message", SpamDetector.analyzeMessage(null, "Ali").reason);
+
+        SpamDetector.SpamAnalysisResult clean = SpamDetector.analyzeMessage("Merhaba, yarın görüşelim mi?", "Ali");
+        assertFalse(clean.isSpam);
+        assertEquals("No spam indicators", clean.reason);
+        assertTrue(clean.detectionReasons.isEmpty());
+    }
+}
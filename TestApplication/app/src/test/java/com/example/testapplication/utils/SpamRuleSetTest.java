@@ -0,0 +1,37 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SpamRuleSetTest {
+
+    @Test
+    public void versionIsStableForTheSameRules() {
+        assertEquals(SpamRuleSet.compile(Arrays.asList("bahis", "bonus")).version,
+                SpamRuleSet.compile(Arrays.asList("bahis", "bonus")).version);
+        assertEquals(SpamRuleSet.compile(SpamDetector.getDefaultKeywords()).version,
+                SpamRuleSet.defaults().version);
+    }
+
+    @Test
+    public void versionChangesWithKeywords() {
+        assertNotEquals(SpamRuleSet.compile(Arrays.asList("bahis", "bonus")).version,
+                SpamRuleSet.compile(Arrays.asList("bahis", "bonus", "slot")).version);
+    }
+
+    @Test
+    public void versionChangesWithKeywordOrder() {
+        // Keyword order decides the order of reasons, so cached explanations must not be shared
+        assertNotEquals(SpamRuleSet.compile(Arrays.asList("bahis", "bonus")).version,
+                SpamRuleSet.compile(Arrays.asList("bonus", "bahis")).version);
+    }
+
+    @Test
+    public void keywordBoundariesAreHashed() {
+        assertNotEquals(SpamRuleSet.compile(Arrays.asList("ab", "c")).version,
+                SpamRuleSet.compile(Arrays.asList("a", "bc")).version);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TurkishTokenizerTest {
+
+    private static List<String> tokens(String text) {
+        return new ArrayList<>(TurkishTokenizer.tokenize(text));
+    }
+
+    @Test
+    public void foldsWithTurkishCaseRules() {
+        // "IRMAK İZMİR" -> "ırmak izmir"
+        assertEquals(Arrays.asList("ırmak", "izmir"), tokens("IRMAK İZMİR"));
+        // "ŞİŞLİ Çarşı" -> "şişli çarşı"
+        assertEquals(Arrays.asList("şişli", "çarşı"),
+                tokens("ŞİŞLİ Çarşı"));
+    }
+
+    @Test
+    public void dottedCapitalWrittenWithCombiningDot() {
+        // İ as I + U+0307 folds like the precomposed letter, not like dotless I
+        assertEquals(Arrays.asList("izmir"), tokens("İZMİR"));
+        assertEquals(Arrays.asList("istanbul"), tokens("İstanbul"));
+    }
+
+    @Test
+    public void combiningMarksDoNotSplitWords() {
+        assertEquals(Arrays.asList("cafe", "bonus"), tokens("café bonus"));
+    }
+
+    @Test
+    public void splitsOnPunctuationAndKeepsDigits() {
+        assertEquals(Arrays.asList("bonus", "100tl", "kazan", "31", "07"), tokens("BONUS: 100TL!kazan 31.07"));
+    }
+
+    @Test
+    public void singleCharacterTokensAreDropped() {
+        assertEquals(Arrays.asList("ab", "12"), tokens("a ab 1 12 x"));
+    }
+
+    @Test
+    public void longTokensAreCutAtTheMaximumLength() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        List<String> result = tokens(text + " sonra");
+        assertEquals(2, result.size());
+        assertEquals(text.substring(0, TurkishTokenizer.MAX_TOKEN_LENGTH), result.get(0));
+        assertEquals("sonra", result.get(1));
+    }
+
+    @Test
+    public void duplicatesKeepFirstAppearanceOrder() {
+        assertEquals(Arrays.asList("kazan", "bonus", "hemen"), tokens("Kazan bonus KAZAN hemen Bonus"));
+    }
+
+    @Test
+    public void emptyAndMissingText() {
+        assertTrue(TurkishTokenizer.tokenize(null).isEmpty());
+        assertTrue(TurkishTokenizer.tokenize("").isEmpty());
+        assertTrue(TurkishTokenizer.tokenize(" .,! ").isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.testapplication.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VerdictCacheTest {
+
+    private static SpamVerdict verdict(long rulesVersion, float score) {
+        MutableSpamVerdict verdict = new MutableSpamVerdict();
+        verdict.rulesVersion = rulesVersion;
+        verdict.spamScore = score;
+        return new SpamVerdict(verdict, SpamExplanation.NONE);
+    }
+
+    @Test
+    public void hitReturnsTheStoredVerdict() {
+        VerdictCache cache = new VerdictCache(4);
+        SpamVerdict stored = verdict(7, 0.5f);
+        cache.put("bonus kazan", "2222", stored);
+
+        assertSame(stored, cache.get(new StringBuilder("bonus kazan"), "2222", 7));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void otherSenderOrBodyMisses() {
+        VerdictCache cache = new VerdictCache(4);
+        cache.put("bonus kazan", "2222", verdict(7, 0.5f));
+
+        assertNull(cache.get("bonus kazan", "3333", 7));
+        assertNull(cache.get("bonus kazan", null, 7));
+        assertNull(cache.get("bonus kazan!", "2222", 7));
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void rulesVersionChangeMisses() {
+        VerdictCache cache = new VerdictCache(4);
+        cache.put("bonus kazan", "2222", verdict(7, 0.5f));
+
+        assertNull(cache.get("bonus kazan", "2222", 8));
+        assertNotNull(cache.get("bonus kazan", "2222", 7));
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        VerdictCache cache = new VerdictCache(2);
+        cache.put("a", "1", verdict(1, 0f));
+        cache.put("b", "1", verdict(1, 0f));
+        assertNotNull(cache.get("a", "1", 1));
+        cache.put("c", "1", verdict(1, 0f));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get("a", "1", 1));
+        assertNull(cache.get("b", "1", 1));
+        assertNotNull(cache.get("c", "1", 1));
+    }
+
+    @Test
+    public void hashCollisionIsNotAHit() {
+        // Different bodies with the same 64-bit FNV-1a hash
+        String body = "fatxqmzofta";
+        String colliding = "uowuoppksw\uE687";
+        VerdictCache cache = new VerdictCache(4);
+        cache.put(body, "2222", verdict(1, 0.9f));
+
+        assertNull(cache.get(colliding, "2222", 1));
+        assertNotNull(cache.get(body, "2222", 1));
+    }
+
+    @Test
+    public void invalidateAllDropsEveryEntry() {
+        VerdictCache cache = new VerdictCache(4);
+        cache.put("a", "1", verdict(1, 0f));
+        cache.invalidateAll();
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidationCount());
+        assertNull(cache.get("a", "1", 1));
+    }
+}